@@ -3,10 +3,15 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 import java.util.Scanner;
+import java.util.ArrayDeque;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.Arrays;
 
 /**
  * Classe Medalhista: representa um medalhista olímpico e sua coleção de
@@ -257,53 +262,221 @@ class Medalha {
     }
 }
 
+/**
+ * Dicionário de textos: associa cada texto distinto a um código inteiro
+ * pequeno (0, 1, 2, ... na ordem em que os textos aparecem) e guarda uma única
+ * instância de cada texto.
+ * Serve para colunas com poucos valores distintos, como país, disciplina,
+ * evento e gênero: em vez de uma String nova por linha, todos os objetos
+ * apontam para a instância canônica, e comparações de igualdade podem ser
+ * feitas pelos códigos.
+ * A busca aceita qualquer CharSequence e só cria uma String quando o texto
+ * ainda não está no dicionário.
+ */
+class Dicionario {
+
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    /** Código + 1 do texto guardado em cada posição da tabela; 0 indica posição livre */
+    private int[] tabela;
+    /** Hash de cada código, para evitar comparações de textos diferentes */
+    private int[] hashes;
+    /** Instância canônica de cada código */
+    private String[] textos;
+    private int quantidade;
+
+    public Dicionario() {
+        this.tabela = new int[CAPACIDADE_INICIAL];
+        this.hashes = new int[CAPACIDADE_INICIAL / 2];
+        this.textos = new String[CAPACIDADE_INICIAL / 2];
+        this.quantidade = 0;
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    /**
+     * Retorna o código do texto, incluindo-o no dicionário se ele ainda não
+     * estiver lá.
+     */
+    public int codigo(CharSequence texto) {
+        int hash = hash(texto);
+        int mascara = tabela.length - 1;
+        int posicao = espalhar(hash) & mascara;
+        while (tabela[posicao] != 0) {
+            int codigo = tabela[posicao] - 1;
+            if (hashes[codigo] == hash && textos[codigo].contentEquals(texto)) {
+                return codigo;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return incluir(texto, hash, posicao);
+    }
+
+    /** Retorna a instância canônica do texto, incluindo-o se necessário */
+    public String canonico(CharSequence texto) {
+        int codigo = codigo(texto); // antes de ler textos, que pode ser trocado ao incluir
+        return textos[codigo];
+    }
+
+    /** Retorna o texto correspondente a um código */
+    public String texto(int codigo) {
+        if (codigo < 0 || codigo >= quantidade) {
+            throw new IndexOutOfBoundsException("Código inexistente no dicionário: " + codigo);
+        }
+        return textos[codigo];
+    }
+
+    private int incluir(CharSequence texto, int hash, int posicao) {
+        if (quantidade == textos.length) {
+            int novoTamanho = textos.length * 2;
+            hashes = Arrays.copyOf(hashes, novoTamanho);
+            textos = Arrays.copyOf(textos, novoTamanho);
+        }
+        int codigo = quantidade++;
+        String canonico = texto.toString();
+        hashes[codigo] = hash;
+        textos[codigo] = canonico;
+        tabela[posicao] = codigo + 1;
+
+        // a tabela é mantida com no máximo metade das posições ocupadas
+        if (quantidade * 2 > tabela.length) {
+            redimensionar(tabela.length * 2);
+        }
+        return codigo;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] nova = new int[novaCapacidade];
+        int mascara = novaCapacidade - 1;
+        for (int codigo = 0; codigo < quantidade; codigo++) {
+            int posicao = espalhar(hashes[codigo]) & mascara;
+            while (nova[posicao] != 0) {
+                posicao = (posicao + 1) & mascara;
+            }
+            nova[posicao] = codigo + 1;
+        }
+        tabela = nova;
+    }
+
+    /** Mesmo cálculo de String.hashCode, que para Strings já vem pronto */
+    private static int hash(CharSequence texto) {
+        if (texto instanceof String) {
+            return texto.hashCode();
+        }
+        int hash = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            hash = 31 * hash + texto.charAt(i);
+        }
+        return hash;
+    }
+
+    /** Mistura os bits altos nos baixos, já que a posição usa só os bits baixos */
+    private static int espalhar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
+
 class Evento implements Comparable<Evento> {
     private String event;
     private String discipline;
+    /**
+     * Nomes de evento e disciplina normalizados (sem espaços nas pontas e em
+     * minúsculas), que são os usados nas comparações.
+     */
+    private String eventoNormalizado;
+    private String disciplinaNormalizada;
+    /**
+     * Dicionário de nomes normalizados informado por quem carrega os eventos,
+     * ou null. Eventos do mesmo dicionário têm os mesmos códigos para os mesmos
+     * nomes e são comparados pelos códigos; os demais, como os eventos criados
+     * só para uma pesquisa, têm código -1 e são comparados pelos nomes.
+     */
+    private final Dicionario nomesNormalizados;
+    private int codigoEvento;
+    private int codigoDisciplina;
     private int quantMedalhistas;
     private BST<Medalhista> medalhistas;
+    /** Índice dos mesmos medalhistas da árvore, pelo nome, para acesso em O(1) */
+    private Map<String, Medalhista> medalhistasPorNome;
 
     public Evento(String nomeEvento, String disciplina) {
+        this(nomeEvento, disciplina, null);
+    }
+
+    /**
+     * @param nomesNormalizados Dicionário compartilhado pelos eventos carregados
+     *                          juntos, no qual os nomes normalizados deste
+     *                          evento são incluídos; ou null.
+     */
+    public Evento(String nomeEvento, String disciplina, Dicionario nomesNormalizados) {
+        this.nomesNormalizados = nomesNormalizados;
         setEvent(nomeEvento);
         setDiscipline(disciplina);
         medalhistas = new BST<>();
+        medalhistasPorNome = new HashMap<>();
     }
 
-    public Lista<Medalhista> recortarMedalhistas(String deOnde, String ateOnde) throws NullPointerException {
-        Medalhista medalhistA = new Medalhista(deOnde, null, null, null);
-        medalhistA = medalhistas.localizar(medalhistA);
-        
-        /*if (medalhistA == null) {
-            System.out.println("Medalhista " + deOnde + " não encontrado.");
-        }*/
-        
-        Medalhista medalhistB = new Medalhista(ateOnde, null, null, null);
-        medalhistB = medalhistas.localizar(medalhistB);
-        
-        /*if (medalhistB == null) {
-            System.out.println("Medalhista " + ateOnde + " não encontrado.");
-        }*/
-    
-        if (medalhistA == null || medalhistB == null) {
+    /**
+     * Medalhistas do evento cujos nomes estão estritamente entre os de deOnde e
+     * ateOnde, que devem ser medalhistas do evento. Os medalhistas são
+     * percorridos sob demanda na árvore, sem cópia para uma lista.
+     * 
+     * @return Os medalhistas do intervalo, ou null (após avisar) se algum dos
+     *         dois nomes não for de um medalhista do evento.
+     */
+    public Iterable<Medalhista> recortarMedalhistas(String deOnde, String ateOnde) {
+        if (pesquisarMedalhista(deOnde) == null || pesquisarMedalhista(ateOnde) == null) {
             System.out.println("Nao ha medalhistas entre os indicados.");
+            return null;
         }
-        
-        if(deOnde != null && ateOnde != null && medalhistA != null && medalhistB != null){
-        return medalhistas.recortar(medalhistA, medalhistB);
-        }
-        return null;
+        return medalhistasEntre(deOnde, false, ateOnde, false);
+    }
+
+    /**
+     * Medalhistas do evento cujos nomes estão entre deOnde e ateOnde, percorridos
+     * sob demanda. Ao contrário de recortarMedalhistas, os nomes informados não
+     * precisam ser de medalhistas do evento.
+     * 
+     * @param deOnde         Nome inicial, ou null para começar do primeiro.
+     * @param incluirDeOnde  Se o medalhista com o nome inicial é incluído.
+     * @param ateOnde        Nome final, ou null para ir até o último.
+     * @param incluirAteOnde Se o medalhista com o nome final é incluído.
+     */
+    public Iterable<Medalhista> medalhistasEntre(String deOnde, boolean incluirDeOnde, String ateOnde,
+            boolean incluirAteOnde) {
+        Medalhista inicio = (deOnde == null) ? null : new Medalhista(deOnde, null, null, null);
+        Medalhista fim = (ateOnde == null) ? null : new Medalhista(ateOnde, null, null, null);
+        return medalhistas.intervalo(inicio, incluirDeOnde, fim, incluirAteOnde);
     }
-    
-    
 
     public void incluirMedalhista(Medalhista medalhista) {
         medalhistas.add(medalhista);
+        medalhistasPorNome.put(medalhista.getName(), medalhista);
         quantMedalhistas++;
     }
 
+    /**
+     * Retorna o medalhista do evento com o mesmo nome do informado; caso não
+     * exista, inclui o medalhista informado no evento e o retorna.
+     * A busca é feita no índice por nome, sem percorrer a árvore.
+     * 
+     * @param medalhista Medalhista a ser incluído, caso o evento ainda não tenha
+     *                   um medalhista com esse nome.
+     * @return O medalhista do evento com esse nome.
+     */
+    public Medalhista obterOuIncluirMedalhista(Medalhista medalhista) {
+        Medalhista existente = medalhistasPorNome.get(medalhista.getName());
+        if (existente != null) {
+            return existente;
+        }
+        incluirMedalhista(medalhista);
+        return medalhista;
+    }
+
     public Medalhista pesquisarMedalhista(String nome) throws NullPointerException{
-        Medalhista medalhistaAPesquisar = new Medalhista(nome, null, null, null);
-        return medalhistas.localizar(medalhistaAPesquisar);
+        return medalhistasPorNome.get(nome);
     }
 
     public void relatorioMedalhistas() {
@@ -314,17 +487,26 @@ class Evento implements Comparable<Evento> {
         return medalhistas.emOrdem();
     }
 
+    /**
+     * Compara pela disciplina e depois pelo evento, sem diferenciar maiúsculas
+     * de minúsculas. Entre eventos do mesmo dicionário, nomes iguais têm o
+     * mesmo código, e só nomes diferentes precisam ter os textos comparados.
+     */
     @Override
     public int compareTo(Evento outro) {
-    int disciplinaComp = this.discipline.trim().toLowerCase().compareTo(outro.discipline.trim().toLowerCase());
-    
-    if (disciplinaComp != 0) {
-        return disciplinaComp;
+        boolean mesmoDicionario = nomesNormalizados != null && nomesNormalizados == outro.nomesNormalizados;
+        if (!mesmoDicionario || codigoDisciplina != outro.codigoDisciplina) {
+            int disciplinaComp = disciplinaNormalizada.compareTo(outro.disciplinaNormalizada);
+            if (disciplinaComp != 0) {
+                return disciplinaComp;
+            }
+        }
+        if (!mesmoDicionario || codigoEvento != outro.codigoEvento) {
+            return eventoNormalizado.compareTo(outro.eventoNormalizado);
+        }
+        return 0;
     }
 
-    return this.event.trim().toLowerCase().compareTo(outro.event.trim().toLowerCase());
-}
-
 
     @Override
     public String toString() {
@@ -333,7 +515,7 @@ class Evento implements Comparable<Evento> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(event.toLowerCase(), discipline.toLowerCase());
+        return 31 * disciplinaNormalizada.hashCode() + eventoNormalizado.hashCode();
     }
 
     @Override
@@ -343,8 +525,7 @@ class Evento implements Comparable<Evento> {
         if (outro == null || getClass() != outro.getClass())
             return false;
         Evento evento = (Evento) outro;
-        return event.trim().equalsIgnoreCase(evento.event.trim()) &&
-                discipline.trim().equalsIgnoreCase(evento.discipline.trim());
+        return compareTo(evento) == 0;
     }
 
     public String getEvent() {
@@ -353,6 +534,8 @@ class Evento implements Comparable<Evento> {
 
     public void setEvent(String evento) {
         this.event = evento;
+        this.codigoEvento = codigoNormalizado(evento);
+        this.eventoNormalizado = (codigoEvento < 0) ? normalizar(evento) : nomesNormalizados.texto(codigoEvento);
     }
 
     public String getDiscipline() {
@@ -361,6 +544,19 @@ class Evento implements Comparable<Evento> {
 
     public void setDiscipline(String disciplina) {
         this.discipline = disciplina;
+        this.codigoDisciplina = codigoNormalizado(disciplina);
+        this.disciplinaNormalizada = (codigoDisciplina < 0) ? normalizar(disciplina)
+                : nomesNormalizados.texto(codigoDisciplina);
+    }
+
+    /** Nome sem espaços nas pontas e em minúsculas */
+    private static String normalizar(String nome) {
+        return nome.trim().toLowerCase();
+    }
+
+    /** Código do nome normalizado no dicionário, ou -1 se o evento não tiver dicionário */
+    private int codigoNormalizado(String nome) {
+        return (nomesNormalizados == null) ? -1 : nomesNormalizados.codigo(normalizar(nome));
     }
 }
 
@@ -455,7 +651,197 @@ class Celula<T> {
     }
 }
 
-class Node<E extends Comparable<E>> {
+/**
+ * Operações comuns à BST e à AVL. As duas árvores implementam esta interface,
+ * de modo que uma pode substituir a outra, e uma operação acrescentada a uma
+ * delas e esquecida na outra é apontada pelo compilador.
+ */
+interface IArvoreBusca<E extends Comparable<E>> {
+
+    public boolean isEmpty();
+
+    public int altura();
+
+    public E localizar(E item);
+
+    public void add(E item);
+
+    /**
+     * Localiza o item na árvore e, caso ele não exista, o inclui, numa única
+     * descida.
+     * 
+     * @return O item que está na árvore: o já existente, igual ao informado
+     *         segundo compareTo, ou o próprio item informado, se foi incluído.
+     */
+    public E localizarOuIncluir(E item);
+
+    /**
+     * Inclui o item ou, se já existir um igual, substitui o existente pelo
+     * resultado de combinar(existente, item), que deve ser igual a ele segundo
+     * compareTo.
+     * 
+     * @return O item que ficou na árvore.
+     */
+    public E mesclar(E item, BinaryOperator<E> combinar);
+
+    public void remove(E item);
+
+    public void caminhamentoEmOrdem();
+
+    public Lista<E> emOrdem();
+
+    /** Itens estritamente entre deOnde e ateOnde, em ordem */
+    public Lista<E> recortar(E deOnde, E ateOnde);
+
+    /**
+     * Itens entre deOnde e ateOnde, em ordem, localizados sob demanda. Os
+     * limites não precisam estar na árvore; null indica que não há limite.
+     */
+    public Iterable<E> intervalo(E deOnde, boolean incluirDeOnde, E ateOnde, boolean incluirAteOnde);
+}
+
+/** Nó de uma árvore binária de busca, visto apenas para leitura */
+interface INoArvore<E> {
+
+    public E getItem();
+
+    public INoArvore<E> getEsquerda();
+
+    public INoArvore<E> getDireita();
+}
+
+/**
+ * Percorre, em ordem, os itens entre deOnde e ateOnde de uma árvore binária de
+ * busca, sob demanda: cada item só é localizado quando o iterador o solicita,
+ * de modo que quem consome apenas os primeiros resultados não paga pelo
+ * intervalo inteiro.
+ * Subárvores inteiramente abaixo de deOnde não são visitadas, e o percurso
+ * termina no primeiro item além de ateOnde. A árvore não deve ser alterada
+ * enquanto o intervalo é percorrido.
+ */
+class IteradorIntervalo<E extends Comparable<E>> implements Iterator<E> {
+    /** Nós já conferidos contra o limite inferior e ainda não visitados */
+    private final ArrayDeque<INoArvore<E>> pilha = new ArrayDeque<>();
+    private final E ateOnde;
+    private final boolean incluirAteOnde;
+    /** Próximo nó a ser devolvido, ou null ao fim do intervalo */
+    private INoArvore<E> proximo;
+
+    /**
+     * @param raiz           Raiz da árvore, ou null se ela estiver vazia.
+     * @param deOnde         Limite inferior, ou null para começar do menor item.
+     * @param incluirDeOnde  Se um item igual a deOnde faz parte do intervalo.
+     * @param ateOnde        Limite superior, ou null para ir até o maior item.
+     * @param incluirAteOnde Se um item igual a ateOnde faz parte do intervalo.
+     */
+    IteradorIntervalo(INoArvore<E> raiz, E deOnde, boolean incluirDeOnde, E ateOnde, boolean incluirAteOnde) {
+        this.ateOnde = ateOnde;
+        this.incluirAteOnde = incluirAteOnde;
+
+        // desce até o primeiro item do intervalo: um nó abaixo de deOnde
+        // descarta a si mesmo e a sua subárvore esquerda.
+        INoArvore<E> atual = raiz;
+        while (atual != null) {
+            int comparacao = (deOnde == null) ? 1 : atual.getItem().compareTo(deOnde);
+            if (comparacao > 0 || (comparacao == 0 && incluirDeOnde)) {
+                pilha.push(atual);
+                atual = atual.getEsquerda();
+            } else {
+                atual = atual.getDireita();
+            }
+        }
+        avancar();
+    }
+
+    private void avancar() {
+        if (pilha.isEmpty()) {
+            proximo = null;
+            return;
+        }
+        proximo = pilha.pop();
+        if (ateOnde != null) {
+            int comparacao = proximo.getItem().compareTo(ateOnde);
+            if (comparacao > 0 || (comparacao == 0 && !incluirAteOnde)) {
+                // os nós que restam na pilha são maiores que este
+                pilha.clear();
+                proximo = null;
+                return;
+            }
+        }
+        // a subárvore direita é toda maior que o nó atual e, portanto, que
+        // deOnde: seus nós são empilhados sem comparar com o limite inferior.
+        for (INoArvore<E> no = proximo.getDireita(); no != null; no = no.getEsquerda()) {
+            pilha.push(no);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return proximo != null;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        E item = proximo.getItem();
+        avancar();
+        return item;
+    }
+}
+
+/**
+ * Monta, em O(n), uma árvore perfeitamente balanceada com os próximos itens de
+ * um iterador, que devem vir em ordem estritamente crescente: a subárvore
+ * esquerda com metade dos itens, depois a raiz, depois a subárvore direita, de
+ * modo que cada item do iterador é lido exatamente uma vez. A recursão tem
+ * profundidade log2(n). Cada árvore informa como criar os seus nós.
+ */
+abstract class ConstrutorBalanceado<E extends Comparable<E>, N> {
+    private final Iterator<E> itens;
+    private E anterior;
+
+    ConstrutorBalanceado(Iterator<E> itens) {
+        this.itens = itens;
+        this.anterior = null;
+    }
+
+    /** Cria o nó do item, com as subárvores já montadas */
+    protected abstract N criarNo(E item, N esquerda, N direita);
+
+    /**
+     * @param quantidade Quantidade de itens a consumir do iterador.
+     * @return A raiz da árvore montada, ou null se a quantidade for 0.
+     */
+    N construir(int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade de itens inválida.");
+        }
+        return montar(quantidade);
+    }
+
+    private N montar(int quantidade) {
+        if (quantidade == 0) {
+            return null;
+        }
+        int quantidadeEsquerda = (quantidade - 1) / 2;
+        N esquerda = montar(quantidadeEsquerda);
+
+        if (!itens.hasNext()) {
+            throw new IllegalArgumentException("Há menos itens do que a quantidade informada.");
+        }
+        E item = itens.next();
+        if (anterior != null && anterior.compareTo(item) >= 0) {
+            throw new IllegalArgumentException("Os itens devem estar em ordem estritamente crescente.");
+        }
+        anterior = item;
+
+        return criarNo(item, esquerda, montar(quantidade - 1 - quantidadeEsquerda));
+    }
+}
+
+class Node<E extends Comparable<E>> implements INoArvore<E> {
     private Node<E> esquerda;
     private Node<E> direita;
     private E item;
@@ -478,6 +864,7 @@ class Node<E extends Comparable<E>> {
         this.setDireita(direita);
     }
 
+    @Override
     public Node<E> getEsquerda() {
         return esquerda;
     }
@@ -486,6 +873,7 @@ class Node<E extends Comparable<E>> {
         this.esquerda = esquerda;
     }
 
+    @Override
     public Node<E> getDireita() {
         return direita;
     }
@@ -494,6 +882,7 @@ class Node<E extends Comparable<E>> {
         this.direita = direita;
     }
 
+    @Override
     public E getItem() {
         return item;
     }
@@ -503,90 +892,503 @@ class Node<E extends Comparable<E>> {
     }
 }
 
-class BST<E extends Comparable<E>> {
+class BST<E extends Comparable<E>> implements IArvoreBusca<E> {
     private Node<E> raiz;
 
     public BST() {
         this.raiz = null;
     }
 
+    /**
+     * Constrói, em O(n), uma árvore perfeitamente balanceada com os itens do
+     * vetor, que devem estar em ordem estritamente crescente.
+     * 
+     * @param ordenados Itens em ordem crescente, sem repetições.
+     */
+    public BST(E[] ordenados) {
+        this(Arrays.asList(ordenados).iterator(), ordenados.length);
+    }
+
+    /**
+     * Constrói, em O(n), uma árvore perfeitamente balanceada com os próximos
+     * "quantidade" itens do iterador, que devem vir em ordem estritamente
+     * crescente. Os itens são consumidos na ordem em que chegam, sem cópia
+     * intermediária.
+     * 
+     * @param ordenados  Iterador que fornece os itens em ordem crescente.
+     * @param quantidade Quantidade de itens a consumir do iterador.
+     */
+    public BST(Iterator<E> ordenados, int quantidade) {
+        this.raiz = new ConstrutorBalanceado<E, Node<E>>(ordenados) {
+            @Override
+            protected Node<E> criarNo(E item, Node<E> esquerda, Node<E> direita) {
+                Node<E> no = new Node<E>(item);
+                no.setEsquerda(esquerda);
+                no.setDireita(direita);
+                return no;
+            }
+        }.construir(quantidade);
+    }
+
+    @Override
     public boolean isEmpty() {
         return this.raiz == null;
     }
 
-     public E localizar(E item) {
-        return localizar(raiz, item);
+    /**
+     * Altura da árvore, calculada por níveis (sem recursão).
+     */
+    @Override
+    public int altura() {
+        int altura = 0;
+        ArrayDeque<Node<E>> nivel = new ArrayDeque<>();
+        if (raiz != null) {
+            nivel.add(raiz);
+        }
+        while (!nivel.isEmpty()) {
+            altura++;
+            for (int i = nivel.size(); i > 0; i--) {
+                Node<E> no = nivel.poll();
+                if (no.getEsquerda() != null) {
+                    nivel.add(no.getEsquerda());
+                }
+                if (no.getDireita() != null) {
+                    nivel.add(no.getDireita());
+                }
+            }
+        }
+        return altura;
     }
 
-    private E localizar(Node<E> raizArvore, E item) {
-        int comparacao;
-        if (raizArvore == null) {
-            return null;
+    // As operações abaixo são iterativas: descem pela árvore com laços (e, nos
+    // caminhamentos, com uma pilha explícita), de modo que funcionam em qualquer
+    // altura, inclusive em árvores degeneradas construídas a partir de dados
+    // ordenados, sem risco de StackOverflowError.
+
+    @Override
+    public E localizar(E item) {
+        Node<E> atual = raiz;
+        while (atual != null) {
+            int comparacao = item.compareTo(atual.getItem());
+            if (comparacao == 0) {
+                return atual.getItem();
+            }
+            atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
         }
-        comparacao = item.compareTo(raizArvore.getItem());
-        if (comparacao == 0) {
-            return raizArvore.getItem();
-        } else if (comparacao < 0) {
-            return localizar(raizArvore.getEsquerda(), item);
-        } else {
-            return localizar(raizArvore.getDireita(), item);
+        return null;
+    }
+
+    @Override
+    public void add(E item) {
+        if (localizarOuIncluirNo(item) != null) {
+            throw new IllegalArgumentException("Elemento duplicado não permitido na árvore.");
         }
     }
 
-    //
-    //
-    //DEBUG
-    /*public E localizar(E item) {
-        return localizar(raiz, item);
+    /**
+     * Localiza o item na árvore e, caso ele não exista, o inclui. Faz uma única
+     * descida, ao contrário de chamar localizar e depois add.
+     * 
+     * @param item Item a ser localizado ou incluído.
+     * @return O item que está na árvore: o já existente, igual ao informado
+     *         segundo compareTo, ou o próprio item informado, se foi incluído.
+     */
+    @Override
+    public E localizarOuIncluir(E item) {
+        Node<E> existente = localizarOuIncluirNo(item);
+        return (existente == null) ? item : existente.getItem();
     }
 
-    private E localizar(Node<E> raizArvore, E item) throws NullPointerException {
-        if (raizArvore == null) {
-            System.out.println("Item não encontrado: " + item);
+    /**
+     * Inclui o item na árvore ou, se já existir um item igual a ele, substitui o
+     * existente pelo resultado de combinar(existente, item), numa única descida.
+     * O resultado da combinação deve ser igual ao item existente segundo
+     * compareTo, para que a ordem da árvore se mantenha.
+     * 
+     * @param item     Item a ser incluído ou combinado com o existente.
+     * @param combinar Função que combina o item existente com o informado.
+     * @return O item que ficou na árvore.
+     */
+    @Override
+    public E mesclar(E item, BinaryOperator<E> combinar) {
+        Node<E> existente = localizarOuIncluirNo(item);
+        if (existente == null) {
+            return item;
+        }
+        existente.setItem(combinar.apply(existente.getItem(), item));
+        return existente.getItem();
+    }
+
+    /**
+     * Desce pela árvore procurando o item: se encontrar um igual, retorna o seu
+     * nó sem alterar a árvore; senão, inclui o item na posição em que a busca
+     * terminou e retorna null.
+     */
+    private Node<E> localizarOuIncluirNo(E item) {
+        if (raiz == null) {
+            raiz = new Node<E>(item);
             return null;
         }
-        int comparacao = item.compareTo(raizArvore.getItem());
-        System.out.println("Comparando " + item + " com " + raizArvore.getItem() + " -> Resultado: " + comparacao);
+        Node<E> atual = raiz;
+        while (true) {
+            int comparacao = item.compareTo(atual.getItem());
+            if (comparacao == 0) {
+                return atual;
+            } else if (comparacao < 0) {
+                if (atual.getEsquerda() == null) {
+                    atual.setEsquerda(new Node<E>(item));
+                    return null;
+                }
+                atual = atual.getEsquerda();
+            } else {
+                if (atual.getDireita() == null) {
+                    atual.setDireita(new Node<E>(item));
+                    return null;
+                }
+                atual = atual.getDireita();
+            }
+        }
+    }
 
-        if (comparacao == 0) {
-            System.out.println("Item encontrado: " + raizArvore.getItem());
-            return raizArvore.getItem();
-        } else if (comparacao < 0) {
-            return localizar(raizArvore.getEsquerda(), item);
+    @Override
+    public void remove(E item) {
+        Node<E> pai = null;
+        Node<E> atual = raiz;
+        int comparacao;
+
+        while (atual != null && (comparacao = item.compareTo(atual.getItem())) != 0) {
+            pai = atual;
+            atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+        }
+        if (atual == null) {
+            throw new IllegalStateException("Elemento não encontrado ou árvore vazia.");
+        }
+
+        if (atual.getEsquerda() != null && atual.getDireita() != null) {
+            // dois filhos: o item é substituído pelo do antecessor, que é então
+            // removido do seu lugar (ele não tem filho à direita).
+            Node<E> paiAntecessor = atual;
+            Node<E> antecessor = atual.getEsquerda();
+            while (antecessor.getDireita() != null) {
+                paiAntecessor = antecessor;
+                antecessor = antecessor.getDireita();
+            }
+            atual.setItem(antecessor.getItem());
+            if (paiAntecessor == atual) {
+                paiAntecessor.setEsquerda(antecessor.getEsquerda());
+            } else {
+                paiAntecessor.setDireita(antecessor.getEsquerda());
+            }
+            return;
+        }
+
+        Node<E> filho = (atual.getEsquerda() != null) ? atual.getEsquerda() : atual.getDireita();
+        if (pai == null) {
+            raiz = filho;
+        } else if (pai.getEsquerda() == atual) {
+            pai.setEsquerda(filho);
         } else {
-            return localizar(raizArvore.getDireita(), item);
+            pai.setDireita(filho);
+        }
+    }
+
+    @Override
+    public void caminhamentoEmOrdem() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Árvore vazia.");
+        } else {
+            caminhamentoEmOrdem(item -> System.out.println(item.toString()));
+        }
+    }
+
+    /**
+     * Visita os itens da árvore em ordem, usando uma pilha explícita no lugar
+     * da pilha de chamadas.
+     */
+    private void caminhamentoEmOrdem(Consumer<E> visitar) {
+        ArrayDeque<Node<E>> pilha = new ArrayDeque<>();
+        Node<E> atual = raiz;
+        while (atual != null || !pilha.isEmpty()) {
+            while (atual != null) {
+                pilha.push(atual);
+                atual = atual.getEsquerda();
+            }
+            atual = pilha.pop();
+            visitar.accept(atual.getItem());
+            atual = atual.getDireita();
+        }
+    }
+
+    @Override
+    public Lista<E> emOrdem() {
+        Lista<E> elementos = new Lista<>();
+        caminhamentoEmOrdem(elementos::inserirFinal);
+        return elementos;
+    }
+
+    /**
+     * Itens estritamente entre deOnde e ateOnde, em ordem. Os limites não
+     * precisam estar na árvore.
+     */
+    @Override
+    public Lista<E> recortar(E deOnde, E ateOnde) throws NullPointerException {
+        Lista<E> resultado = new Lista<>();
+        for (E item : intervalo(deOnde, false, ateOnde, false)) {
+            resultado.inserirFinal(item);
+        }
+        return resultado;
+    }
+
+    /**
+     * Percorre, em ordem, os itens entre deOnde e ateOnde sob demanda: cada item
+     * só é localizado quando o iterador o solicita, de modo que quem consome
+     * apenas os primeiros resultados não paga pelo intervalo inteiro.
+     * Subárvores inteiramente abaixo de deOnde não são visitadas, e o percurso
+     * termina no primeiro item além de ateOnde. Os limites não precisam estar
+     * na árvore.
+     * A árvore não deve ser alterada enquanto o intervalo é percorrido.
+     * 
+     * @param deOnde         Limite inferior, ou null para começar do menor item.
+     * @param incluirDeOnde  Se um item igual a deOnde faz parte do intervalo.
+     * @param ateOnde        Limite superior, ou null para ir até o maior item.
+     * @param incluirAteOnde Se um item igual a ateOnde faz parte do intervalo.
+     * @return Iterable com os itens do intervalo, em ordem crescente.
+     */
+    @Override
+    public Iterable<E> intervalo(E deOnde, boolean incluirDeOnde, E ateOnde, boolean incluirAteOnde) {
+        return () -> new IteradorIntervalo<>(raiz, deOnde, incluirDeOnde, ateOnde, incluirAteOnde);
+    }
+}
+
+class NodeAVL<E extends Comparable<E>> implements INoArvore<E> {
+    private NodeAVL<E> esquerda;
+    private NodeAVL<E> direita;
+    private E item;
+    private int altura;
+
+    public NodeAVL(E item) {
+        this.setItem(item);
+        this.setEsquerda(null);
+        this.setDireita(null);
+        this.altura = 1;
+    }
+
+    @Override
+    public NodeAVL<E> getEsquerda() {
+        return esquerda;
+    }
+
+    public void setEsquerda(NodeAVL<E> esquerda) {
+        this.esquerda = esquerda;
+    }
+
+    @Override
+    public NodeAVL<E> getDireita() {
+        return direita;
+    }
+
+    public void setDireita(NodeAVL<E> direita) {
+        this.direita = direita;
+    }
+
+    @Override
+    public E getItem() {
+        return item;
+    }
+
+    public void setItem(E item) {
+        this.item = item;
+    }
+
+    public int getAltura() {
+        return altura;
+    }
+
+    public void setAltura(int altura) {
+        this.altura = altura;
+    }
+}
+
+/**
+ * Árvore AVL: árvore binária de busca que se mantém balanceada, de modo que as
+ * alturas das subárvores de qualquer nó diferem em no máximo 1.
+ * Implementa IArvoreBusca, como a BST, podendo substituí-la; a diferença é que
+ * a altura fica em O(log n) mesmo quando os itens são inseridos em ordem, como
+ * acontece com arquivos já ordenados.
+ */
+class AVL<E extends Comparable<E>> implements IArvoreBusca<E> {
+    private NodeAVL<E> raiz;
+    /** Nó encontrado pela última chamada de localizarOuIncluirNo, ou null se o item foi incluído */
+    private NodeAVL<E> existente;
+
+    public AVL() {
+        this.raiz = null;
+    }
+
+    /**
+     * Constrói, em O(n), uma árvore perfeitamente balanceada (e, portanto, AVL)
+     * com os itens do vetor, que devem estar em ordem estritamente crescente.
+     * 
+     * @param ordenados Itens em ordem crescente, sem repetições.
+     */
+    public AVL(E[] ordenados) {
+        this(Arrays.asList(ordenados).iterator(), ordenados.length);
+    }
+
+    /**
+     * Constrói, em O(n), uma árvore perfeitamente balanceada com os próximos
+     * "quantidade" itens do iterador, que devem vir em ordem estritamente
+     * crescente.
+     * 
+     * @param ordenados  Iterador que fornece os itens em ordem crescente.
+     * @param quantidade Quantidade de itens a consumir do iterador.
+     */
+    public AVL(Iterator<E> ordenados, int quantidade) {
+        this.raiz = new ConstrutorBalanceado<E, NodeAVL<E>>(ordenados) {
+            @Override
+            protected NodeAVL<E> criarNo(E item, NodeAVL<E> esquerda, NodeAVL<E> direita) {
+                NodeAVL<E> no = new NodeAVL<E>(item);
+                no.setEsquerda(esquerda);
+                no.setDireita(direita);
+                atualizarAltura(no);
+                return no;
+            }
+        }.construir(quantidade);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.raiz == null;
+    }
+
+    @Override
+    public int altura() {
+        return altura(raiz);
+    }
+
+    private int altura(NodeAVL<E> no) {
+        return (no == null) ? 0 : no.getAltura();
+    }
+
+    private void atualizarAltura(NodeAVL<E> no) {
+        no.setAltura(1 + Math.max(altura(no.getEsquerda()), altura(no.getDireita())));
+    }
+
+    private int fatorBalanceamento(NodeAVL<E> no) {
+        return altura(no.getEsquerda()) - altura(no.getDireita());
+    }
+
+    private NodeAVL<E> rotacionarDireita(NodeAVL<E> no) {
+        NodeAVL<E> novaRaiz = no.getEsquerda();
+        no.setEsquerda(novaRaiz.getDireita());
+        novaRaiz.setDireita(no);
+        atualizarAltura(no);
+        atualizarAltura(novaRaiz);
+        return novaRaiz;
+    }
+
+    private NodeAVL<E> rotacionarEsquerda(NodeAVL<E> no) {
+        NodeAVL<E> novaRaiz = no.getDireita();
+        no.setDireita(novaRaiz.getEsquerda());
+        novaRaiz.setEsquerda(no);
+        atualizarAltura(no);
+        atualizarAltura(novaRaiz);
+        return novaRaiz;
+    }
+
+    /**
+     * Atualiza a altura do nó e aplica as rotações necessárias para que ele
+     * volte a ficar balanceado.
+     * 
+     * @return a nova raiz da subárvore.
+     */
+    private NodeAVL<E> balancear(NodeAVL<E> no) {
+        atualizarAltura(no);
+        int fator = fatorBalanceamento(no);
+
+        if (fator > 1) {
+            if (fatorBalanceamento(no.getEsquerda()) < 0)
+                no.setEsquerda(rotacionarEsquerda(no.getEsquerda()));
+            return rotacionarDireita(no);
+        }
+        if (fator < -1) {
+            if (fatorBalanceamento(no.getDireita()) > 0)
+                no.setDireita(rotacionarDireita(no.getDireita()));
+            return rotacionarEsquerda(no);
+        }
+        return no;
+    }
+
+    @Override
+    public E localizar(E item) {
+        NodeAVL<E> atual = raiz;
+        while (atual != null) {
+            int comparacao = item.compareTo(atual.getItem());
+            if (comparacao == 0)
+                return atual.getItem();
+            atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
         }
-    }*/
-    //
-    //
-    //DEBUG
+        return null;
+    }
 
+    @Override
     public void add(E item) {
-        this.raiz = add(raiz, item);
+        if (localizarOuIncluirNo(item) != null) {
+            throw new IllegalArgumentException("Elemento duplicado não permitido na árvore.");
+        }
     }
 
-    private Node<E> add(Node<E> raizArvore, E item) {
-        int comparacao;
+    @Override
+    public E localizarOuIncluir(E item) {
+        NodeAVL<E> encontrado = localizarOuIncluirNo(item);
+        return (encontrado == null) ? item : encontrado.getItem();
+    }
+
+    @Override
+    public E mesclar(E item, BinaryOperator<E> combinar) {
+        NodeAVL<E> encontrado = localizarOuIncluirNo(item);
+        if (encontrado == null) {
+            return item;
+        }
+        encontrado.setItem(combinar.apply(encontrado.getItem(), item));
+        return encontrado.getItem();
+    }
+
+    /**
+     * Desce pela árvore procurando o item: se encontrar um igual, retorna o seu
+     * nó sem alterar a árvore; senão, inclui o item, rebalanceando o caminho
+     * de volta, e retorna null.
+     */
+    private NodeAVL<E> localizarOuIncluirNo(E item) {
+        existente = null;
+        this.raiz = localizarOuIncluirNo(raiz, item);
+        NodeAVL<E> encontrado = existente;
+        existente = null;
+        return encontrado;
+    }
+
+    private NodeAVL<E> localizarOuIncluirNo(NodeAVL<E> raizArvore, E item) {
         if (raizArvore == null) {
-            raizArvore = new Node<E>(item);
+            return new NodeAVL<E>(item);
+        }
+        int comparacao = item.compareTo(raizArvore.getItem());
+        if (comparacao == 0) {
+            existente = raizArvore;
+            return raizArvore;
+        } else if (comparacao < 0) {
+            raizArvore.setEsquerda(localizarOuIncluirNo(raizArvore.getEsquerda(), item));
         } else {
-            comparacao = item.compareTo(raizArvore.getItem());
-            if (comparacao == 0) {
-                throw new IllegalArgumentException("Elemento duplicado não permitido na árvore.");
-            } else if (comparacao < 0) {
-                raizArvore.setEsquerda(add(raizArvore.getEsquerda(), item));
-            } else {
-                raizArvore.setDireita(add(raizArvore.getDireita(), item));
-            }
+            raizArvore.setDireita(localizarOuIncluirNo(raizArvore.getDireita(), item));
         }
-        return raizArvore;
+        return (existente == null) ? balancear(raizArvore) : raizArvore;
     }
 
+    @Override
     public void remove(E item) {
         this.raiz = remove(raiz, item);
     }
 
-    private Node<E> remove(Node<E> raizArvore, E item) {
+    private NodeAVL<E> remove(NodeAVL<E> raizArvore, E item) {
         int comparacao;
         if (raizArvore == null) {
             throw new IllegalStateException("Elemento não encontrado ou árvore vazia.");
@@ -594,9 +1396,9 @@ class BST<E extends Comparable<E>> {
         comparacao = item.compareTo(raizArvore.getItem());
         if (comparacao == 0) {
             if (raizArvore.getEsquerda() == null) {
-                raizArvore = raizArvore.getDireita();
+                return raizArvore.getDireita();
             } else if (raizArvore.getDireita() == null) {
-                raizArvore = raizArvore.getEsquerda();
+                return raizArvore.getEsquerda();
             } else {
                 raizArvore.setEsquerda(removeNoAntecessor(raizArvore, raizArvore.getEsquerda()));
             }
@@ -605,19 +1407,19 @@ class BST<E extends Comparable<E>> {
         } else {
             raizArvore.setDireita(remove(raizArvore.getDireita(), item));
         }
-        return raizArvore;
+        return balancear(raizArvore);
     }
 
-    private Node<E> removeNoAntecessor(Node<E> removido, Node<E> raizArvore) {
+    private NodeAVL<E> removeNoAntecessor(NodeAVL<E> removido, NodeAVL<E> raizArvore) {
         if (raizArvore.getDireita() != null) {
             raizArvore.setDireita(removeNoAntecessor(removido, raizArvore.getDireita()));
-        } else {
-            removido.setItem(raizArvore.getItem());
-            raizArvore = raizArvore.getEsquerda();
+            return balancear(raizArvore);
         }
-        return raizArvore;
+        removido.setItem(raizArvore.getItem());
+        return raizArvore.getEsquerda();
     }
 
+    @Override
     public void caminhamentoEmOrdem() {
         if (isEmpty()) {
             throw new IllegalStateException("Árvore vazia.");
@@ -626,7 +1428,7 @@ class BST<E extends Comparable<E>> {
         }
     }
 
-    private void caminhamentoEmOrdem(Node<E> raizArvore) {
+    private void caminhamentoEmOrdem(NodeAVL<E> raizArvore) {
         if (raizArvore != null) {
             caminhamentoEmOrdem(raizArvore.getEsquerda());
             System.out.println(raizArvore.getItem().toString());
@@ -634,13 +1436,14 @@ class BST<E extends Comparable<E>> {
         }
     }
 
+    @Override
     public Lista<E> emOrdem() {
         Lista<E> elementos = new Lista<>();
         caminhamentoEmOrdem(this.raiz, elementos);
         return elementos;
     }
 
-    private void caminhamentoEmOrdem(Node<E> raizArvore, Lista<E> elementos) {
+    private void caminhamentoEmOrdem(NodeAVL<E> raizArvore, Lista<E> elementos) {
         if (raizArvore != null) {
             caminhamentoEmOrdem(raizArvore.getEsquerda(), elementos);
             elementos.inserirFinal(raizArvore.getItem());
@@ -648,24 +1451,87 @@ class BST<E extends Comparable<E>> {
         }
     }
 
+    /**
+     * Itens estritamente entre deOnde e ateOnde, em ordem. Os limites não
+     * precisam estar na árvore.
+     */
+    @Override
     public Lista<E> recortar(E deOnde, E ateOnde) throws NullPointerException {
         Lista<E> resultado = new Lista<>();
-        recortar(raiz, deOnde, ateOnde, resultado);
+        for (E item : intervalo(deOnde, false, ateOnde, false)) {
+            resultado.inserirFinal(item);
+        }
         return resultado;
     }
 
-    private void recortar(Node<E> atual, E deOnde, E ateOnde, Lista<E> resultado) throws NullPointerException {
-        if (atual == null)
-            return;
+    @Override
+    public Iterable<E> intervalo(E deOnde, boolean incluirDeOnde, E ateOnde, boolean incluirAteOnde) {
+        return () -> new IteradorIntervalo<>(raiz, deOnde, incluirDeOnde, ateOnde, incluirAteOnde);
+    }
+}
 
-        if (deOnde.compareTo(atual.getItem()) < 0) {
-            recortar(atual.getEsquerda(), deOnde, ateOnde, resultado);
-        }
-        if (deOnde.compareTo(atual.getItem()) < 0 && ateOnde.compareTo(atual.getItem()) > 0) {
-            resultado.inserirFinal(atual.getItem());
+/**
+ * Compara a BST com a AVL quando os itens são inseridos em ordem crescente,
+ * como acontece ao carregar um arquivo já ordenado.
+ * Para cada tamanho, mede o tempo de construção, a altura resultante e o tempo
+ * médio de uma pesquisa (localizar) por todos os itens.
+ * A BST degenera em uma lista, com altura igual à quantidade de itens; como
+ * os seus métodos são iterativos, isso aumenta o tempo, mas não a pilha.
+ *
+ * Uso, depois de compilar Aplicacao.java:
+ * java BenchmarkArvores [tamanho1 tamanho2 ...]
+ */
+class BenchmarkArvores {
+
+    private static final int REPETICOES_PESQUISA = 5;
+
+    public static void main(String[] args) {
+        int[] tamanhos = { 1_000, 5_000, 20_000 };
+        if (args.length > 0) {
+            tamanhos = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+                tamanhos[i] = Integer.parseInt(args[i]);
         }
-        if (ateOnde.compareTo(atual.getItem()) > 0) {
-            recortar(atual.getDireita(), deOnde, ateOnde, resultado);
+
+        System.out.println("Itens\tÁrvore\tConstrução (ms)\tAltura\tPesquisa (ns/item)");
+        for (int tamanho : tamanhos) {
+            Integer[] itens = new Integer[tamanho];
+            for (int i = 0; i < tamanho; i++)
+                itens[i] = i;
+
+            long inicio = System.nanoTime();
+            BST<Integer> bst = new BST<>();
+            for (Integer item : itens)
+                bst.add(item);
+            double construcaoBst = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            inicio = System.nanoTime();
+            AVL<Integer> avl = new AVL<>();
+            for (Integer item : itens)
+                avl.add(item);
+            double construcaoAvl = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            long encontradosBst = 0;
+            inicio = System.nanoTime();
+            for (int r = 0; r < REPETICOES_PESQUISA; r++)
+                for (Integer item : itens)
+                    if (bst.localizar(item) != null)
+                        encontradosBst++;
+            double pesquisaBst = (double) (System.nanoTime() - inicio) / (REPETICOES_PESQUISA * tamanho);
+
+            long encontradosAvl = 0;
+            inicio = System.nanoTime();
+            for (int r = 0; r < REPETICOES_PESQUISA; r++)
+                for (Integer item : itens)
+                    if (avl.localizar(item) != null)
+                        encontradosAvl++;
+            double pesquisaAvl = (double) (System.nanoTime() - inicio) / (REPETICOES_PESQUISA * tamanho);
+
+            if (encontradosBst != encontradosAvl || encontradosAvl != (long) REPETICOES_PESQUISA * tamanho)
+                throw new IllegalStateException("As árvores não encontraram todos os itens.");
+
+            System.out.printf("%d\tBST\t%.2f\t%d\t%.1f%n", tamanho, construcaoBst, bst.altura(), pesquisaBst);
+            System.out.printf("%d\tAVL\t%.2f\t%d\t%.1f%n", tamanho, construcaoAvl, avl.altura(), pesquisaAvl);
         }
     }
 }
@@ -766,7 +1632,7 @@ public class Aplicacao {
 
                     if (encontrado != null) {
                         System.out.println("Medalhistas entre " + medalhistaInicio + " e " + medalhistaFim + ":");
-                        Lista<Medalhista> encontrados = encontrado.recortarMedalhistas(medalhistaInicio, medalhistaFim);
+                        Iterable<Medalhista> encontrados = encontrado.recortarMedalhistas(medalhistaInicio, medalhistaFim);
                         if(encontrados != null){
                         for(Medalhista x : encontrados){
                             System.out.println(x);
@@ -787,6 +1653,13 @@ public class Aplicacao {
     
     private static BST<Evento> carregarEventos(String csvFile) {
         BST<Evento> eventos = new BST<>();
+        // cada país, disciplina, evento e gênero fica com uma única instância
+        Dicionario paises = new Dicionario();
+        Dicionario disciplinas = new Dicionario();
+        Dicionario nomesEventos = new Dicionario();
+        Dicionario generos = new Dicionario();
+        // nomes normalizados, usados nas comparações entre os eventos
+        Dicionario nomesNormalizados = new Dicionario();
         String line;
         String csvSplitBy = ",";
     
@@ -799,11 +1672,11 @@ public class Aplicacao {
                 String nome = dados[0].trim();
                 String tipoMedalhaStr = dados[1].trim().toUpperCase();
                 LocalDate medalhaData = LocalDate.parse(dados[2].trim());
-                String genero = dados[3].trim();
+                String genero = generos.canonico(dados[3].trim());
                 LocalDate nascimento = LocalDate.parse(dados[4].trim());
-                String pais = dados[5].trim();
-                String disciplina = dados[6].trim();
-                String eventoNome = dados[7].trim();
+                String pais = paises.canonico(dados[5].trim());
+                String disciplina = disciplinas.canonico(dados[6].trim());
+                String eventoNome = nomesEventos.canonico(dados[7].trim());
     
                 TipoMedalha tipoMedalha;
                 try {
@@ -817,27 +1690,8 @@ public class Aplicacao {
                 Medalha medalha = new Medalha(tipoMedalha, medalhaData);
                 
     
-                Evento evento = new Evento(eventoNome, disciplina);
-                Evento eventoExistente = eventos.localizar(evento);
-    
-                if (eventoExistente != null) {
-                    boolean medalhistaExistente = false;
-                    for (Medalhista m : eventoExistente.listaMedalhistas()) {
-                        if (m != null && m.getName().equals(nome)) {
-                            m.incluirMedalha(medalha);
-                            medalhistaExistente = true;
-                            break;
-                        }
-                    }
-                    if (!medalhistaExistente) {
-                        eventoExistente.incluirMedalhista(medalhista);
-                        medalhista.incluirMedalha(medalha);
-                    }
-                } else {
-                    evento.incluirMedalhista(medalhista);
-                    medalhista.incluirMedalha(medalha);
-                    eventos.add(evento);
-                }
+                Evento evento = eventos.localizarOuIncluir(new Evento(eventoNome, disciplina, nomesNormalizados));
+                evento.obterOuIncluirMedalhista(medalhista).incluirMedalha(medalha);
             }
     
         } catch (IOException e) {
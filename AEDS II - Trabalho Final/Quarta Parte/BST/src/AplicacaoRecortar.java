@@ -5,11 +5,15 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.Arrays;
 
 /**
  * Classe Medalhista: representa um medalhista olímpico e sua coleção de
@@ -385,120 +389,283 @@ class BST<E extends Comparable<E>> {
         this.raiz = null;
     }
 
-    public boolean isEmpty() {
-        return this.raiz == null;
+    /**
+     * Constrói, em O(n), uma árvore perfeitamente balanceada com os itens do
+     * vetor, que devem estar em ordem estritamente crescente.
+     * 
+     * @param ordenados Itens em ordem crescente, sem repetições.
+     */
+    public BST(E[] ordenados) {
+        this(Arrays.asList(ordenados).iterator(), ordenados.length);
     }
 
-    public E localizar(E item) {
-        return localizar(raiz, item);
+    /**
+     * Constrói, em O(n), uma árvore perfeitamente balanceada com os próximos
+     * "quantidade" itens do iterador, que devem vir em ordem estritamente
+     * crescente. Os itens são consumidos na ordem em que chegam, sem cópia
+     * intermediária.
+     * 
+     * @param ordenados  Iterador que fornece os itens em ordem crescente.
+     * @param quantidade Quantidade de itens a consumir do iterador.
+     */
+    public BST(Iterator<E> ordenados, int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade de itens inválida.");
+        }
+        this.raiz = new ConstrutorBalanceado(ordenados).construir(quantidade);
     }
 
-    private E localizar(Node<E> raizArvore, E item) {
-        int comparacao;
-        if (raizArvore == null) {
-            return null;
+    /**
+     * Monta a árvore em ordem simétrica: a subárvore esquerda com metade dos
+     * itens, depois a raiz, depois a subárvore direita, de modo que cada item
+     * do iterador é lido exatamente uma vez. A recursão tem profundidade
+     * log2(n).
+     */
+    private class ConstrutorBalanceado {
+        private final Iterator<E> itens;
+        private E anterior;
+
+        ConstrutorBalanceado(Iterator<E> itens) {
+            this.itens = itens;
+            this.anterior = null;
         }
-        comparacao = item.compareTo(raizArvore.getItem());
-        if (comparacao == 0) {
-            return raizArvore.getItem();
-        } else if (comparacao < 0) {
-            return localizar(raizArvore.getEsquerda(), item);
-        } else {
-            return localizar(raizArvore.getDireita(), item);
+
+        Node<E> construir(int quantidade) {
+            if (quantidade == 0) {
+                return null;
+            }
+            int quantidadeEsquerda = (quantidade - 1) / 2;
+            Node<E> esquerda = construir(quantidadeEsquerda);
+
+            if (!itens.hasNext()) {
+                throw new IllegalArgumentException("Há menos itens do que a quantidade informada.");
+            }
+            E item = itens.next();
+            if (anterior != null && anterior.compareTo(item) >= 0) {
+                throw new IllegalArgumentException("Os itens devem estar em ordem estritamente crescente.");
+            }
+            anterior = item;
+
+            Node<E> no = new Node<E>(item);
+            no.setEsquerda(esquerda);
+            no.setDireita(construir(quantidade - 1 - quantidadeEsquerda));
+            return no;
         }
     }
 
-    public void add(E item) {
-        this.raiz = add(raiz, item);
+    public boolean isEmpty() {
+        return this.raiz == null;
     }
 
-    private Node<E> add(Node<E> raizArvore, E item) {
-        int comparacao;
-        if (raizArvore == null) {
-            raizArvore = new Node<E>(item);
-        } else {
-            comparacao = item.compareTo(raizArvore.getItem());
+    // As operações abaixo são iterativas: descem pela árvore com laços (e, nos
+    // caminhamentos, com uma pilha explícita), de modo que funcionam em qualquer
+    // altura, inclusive em árvores degeneradas construídas a partir de dados
+    // ordenados, sem risco de StackOverflowError.
+
+    public E localizar(E item) {
+        Node<E> atual = raiz;
+        while (atual != null) {
+            int comparacao = item.compareTo(atual.getItem());
+            if (comparacao == 0) {
+                return atual.getItem();
+            }
+            atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+        }
+        return null;
+    }
+
+    public void add(E item) {
+        if (raiz == null) {
+            raiz = new Node<E>(item);
+            return;
+        }
+        Node<E> atual = raiz;
+        while (true) {
+            int comparacao = item.compareTo(atual.getItem());
             if (comparacao == 0) {
                 throw new IllegalArgumentException("Elemento duplicado não permitido na árvore.");
             } else if (comparacao < 0) {
-                raizArvore.setEsquerda(add(raizArvore.getEsquerda(), item));
+                if (atual.getEsquerda() == null) {
+                    atual.setEsquerda(new Node<E>(item));
+                    return;
+                }
+                atual = atual.getEsquerda();
             } else {
-                raizArvore.setDireita(add(raizArvore.getDireita(), item));
+                if (atual.getDireita() == null) {
+                    atual.setDireita(new Node<E>(item));
+                    return;
+                }
+                atual = atual.getDireita();
             }
         }
-        return raizArvore;
     }
 
     public void remove(E item) {
-        this.raiz = remove(raiz, item);
-    }
-
-    private Node<E> remove(Node<E> raizArvore, E item) {
+        Node<E> pai = null;
+        Node<E> atual = raiz;
         int comparacao;
-        if (raizArvore == null) {
+
+        while (atual != null && (comparacao = item.compareTo(atual.getItem())) != 0) {
+            pai = atual;
+            atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+        }
+        if (atual == null) {
             throw new IllegalStateException("Elemento não encontrado ou árvore vazia.");
         }
-        comparacao = item.compareTo(raizArvore.getItem());
-        if (comparacao == 0) {
-            if (raizArvore.getEsquerda() == null) {
-                raizArvore = raizArvore.getDireita();
-            } else if (raizArvore.getDireita() == null) {
-                raizArvore = raizArvore.getEsquerda();
+
+        if (atual.getEsquerda() != null && atual.getDireita() != null) {
+            // dois filhos: o item é substituído pelo do antecessor, que é então
+            // removido do seu lugar (ele não tem filho à direita).
+            Node<E> paiAntecessor = atual;
+            Node<E> antecessor = atual.getEsquerda();
+            while (antecessor.getDireita() != null) {
+                paiAntecessor = antecessor;
+                antecessor = antecessor.getDireita();
+            }
+            atual.setItem(antecessor.getItem());
+            if (paiAntecessor == atual) {
+                paiAntecessor.setEsquerda(antecessor.getEsquerda());
             } else {
-                raizArvore.setEsquerda(removeNoAntecessor(raizArvore, raizArvore.getEsquerda()));
+                paiAntecessor.setDireita(antecessor.getEsquerda());
             }
-        } else if (comparacao < 0) {
-            raizArvore.setEsquerda(remove(raizArvore.getEsquerda(), item));
-        } else {
-            raizArvore.setDireita(remove(raizArvore.getDireita(), item));
+            return;
         }
-        return raizArvore;
-    }
 
-    private Node<E> removeNoAntecessor(Node<E> removido, Node<E> raizArvore) {
-        if (raizArvore.getDireita() != null) {
-            raizArvore.setDireita(removeNoAntecessor(removido, raizArvore.getDireita()));
+        Node<E> filho = (atual.getEsquerda() != null) ? atual.getEsquerda() : atual.getDireita();
+        if (pai == null) {
+            raiz = filho;
+        } else if (pai.getEsquerda() == atual) {
+            pai.setEsquerda(filho);
         } else {
-            removido.setItem(raizArvore.getItem());
-            raizArvore = raizArvore.getEsquerda();
+            pai.setDireita(filho);
         }
-        return raizArvore;
     }
 
     public void caminhamentoEmOrdem() {
         if (isEmpty()) {
             throw new IllegalStateException("Árvore vazia.");
         } else {
-            caminhamentoEmOrdem(this.raiz);
+            caminhamentoEmOrdem(item -> System.out.println(item.toString()));
         }
     }
 
-    private void caminhamentoEmOrdem(Node<E> raizArvore) {
-        if (raizArvore != null) {
-            caminhamentoEmOrdem(raizArvore.getEsquerda());
-            System.out.println(raizArvore.getItem().toString());
-            caminhamentoEmOrdem(raizArvore.getDireita());
+    /**
+     * Visita os itens da árvore em ordem, usando uma pilha explícita no lugar
+     * da pilha de chamadas.
+     */
+    private void caminhamentoEmOrdem(Consumer<E> visitar) {
+        ArrayDeque<Node<E>> pilha = new ArrayDeque<>();
+        Node<E> atual = raiz;
+        while (atual != null || !pilha.isEmpty()) {
+            while (atual != null) {
+                pilha.push(atual);
+                atual = atual.getEsquerda();
+            }
+            atual = pilha.pop();
+            visitar.accept(atual.getItem());
+            atual = atual.getDireita();
         }
     }
 
+    public Lista<E> emOrdem() {
+        Lista<E> elementos = new Lista<>();
+        caminhamentoEmOrdem(elementos::inserirFinal);
+        return elementos;
+    }
+
+    /**
+     * Itens estritamente entre deOnde e ateOnde, em ordem. Os limites não
+     * precisam estar na árvore.
+     */
     public Lista<E> recortar(E deOnde, E ateOnde) {
         Lista<E> resultado = new Lista<>();
-        recortar(raiz, deOnde, ateOnde, resultado);
+        for (E item : intervalo(deOnde, false, ateOnde, false)) {
+            resultado.inserirFinal(item);
+        }
         return resultado;
     }
 
-    private void recortar(Node<E> atual, E deOnde, E ateOnde, Lista<E> resultado) {
-        if (atual == null)
-            return;
+    /**
+     * Percorre, em ordem, os itens entre deOnde e ateOnde sob demanda: cada item
+     * só é localizado quando o iterador o solicita, de modo que quem consome
+     * apenas os primeiros resultados não paga pelo intervalo inteiro.
+     * Subárvores inteiramente abaixo de deOnde não são visitadas, e o percurso
+     * termina no primeiro item além de ateOnde. Os limites não precisam estar
+     * na árvore.
+     * A árvore não deve ser alterada enquanto o intervalo é percorrido.
+     * 
+     * @param deOnde         Limite inferior, ou null para começar do menor item.
+     * @param incluirDeOnde  Se um item igual a deOnde faz parte do intervalo.
+     * @param ateOnde        Limite superior, ou null para ir até o maior item.
+     * @param incluirAteOnde Se um item igual a ateOnde faz parte do intervalo.
+     * @return Iterable com os itens do intervalo, em ordem crescente.
+     */
+    public Iterable<E> intervalo(E deOnde, boolean incluirDeOnde, E ateOnde, boolean incluirAteOnde) {
+        return () -> new IteradorIntervalo(deOnde, incluirDeOnde, ateOnde, incluirAteOnde);
+    }
+
+    private class IteradorIntervalo implements Iterator<E> {
+        /** Nós já conferidos contra o limite inferior e ainda não visitados */
+        private final ArrayDeque<Node<E>> pilha = new ArrayDeque<>();
+        private final E ateOnde;
+        private final boolean incluirAteOnde;
+        /** Próximo nó a ser devolvido, ou null ao fim do intervalo */
+        private Node<E> proximo;
+
+        IteradorIntervalo(E deOnde, boolean incluirDeOnde, E ateOnde, boolean incluirAteOnde) {
+            this.ateOnde = ateOnde;
+            this.incluirAteOnde = incluirAteOnde;
+
+            // desce até o primeiro item do intervalo: um nó abaixo de deOnde
+            // descarta a si mesmo e a sua subárvore esquerda.
+            Node<E> atual = raiz;
+            while (atual != null) {
+                int comparacao = (deOnde == null) ? 1 : atual.getItem().compareTo(deOnde);
+                if (comparacao > 0 || (comparacao == 0 && incluirDeOnde)) {
+                    pilha.push(atual);
+                    atual = atual.getEsquerda();
+                } else {
+                    atual = atual.getDireita();
+                }
+            }
+            avancar();
+        }
 
-        if (deOnde.compareTo(atual.getItem()) < 0) {
-            recortar(atual.getEsquerda(), deOnde, ateOnde, resultado);
+        private void avancar() {
+            if (pilha.isEmpty()) {
+                proximo = null;
+                return;
+            }
+            proximo = pilha.pop();
+            if (ateOnde != null) {
+                int comparacao = proximo.getItem().compareTo(ateOnde);
+                if (comparacao > 0 || (comparacao == 0 && !incluirAteOnde)) {
+                    // os nós que restam na pilha são maiores que este
+                    pilha.clear();
+                    proximo = null;
+                    return;
+                }
+            }
+            // a subárvore direita é toda maior que o nó atual e, portanto, que
+            // deOnde: seus nós são empilhados sem comparar com o limite inferior.
+            for (Node<E> no = proximo.getDireita(); no != null; no = no.getEsquerda()) {
+                pilha.push(no);
+            }
         }
-        if (deOnde.compareTo(atual.getItem()) < 0 && ateOnde.compareTo(atual.getItem()) > 0) {
-            resultado.inserirFinal(atual.getItem());
+
+        @Override
+        public boolean hasNext() {
+            return proximo != null;
         }
-        if (ateOnde.compareTo(atual.getItem()) > 0) {
-            recortar(atual.getDireita(), deOnde, ateOnde, resultado);
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            E item = proximo.getItem();
+            avancar();
+            return item;
         }
     }
 }
@@ -536,11 +703,9 @@ public class Aplicacao {
             Medalhista obj1 = new Medalhista(medalhista1, null, null, null);
             Medalhista obj2 = new Medalhista(medalhista2, null, null, null);
 
-            Lista<Medalhista> encontrados = arvore.recortar(obj1, obj2);
-
             boolean encontrou = false;
 
-            Iterator<Medalhista> iterator = encontrados.iterator();
+            Iterator<Medalhista> iterator = arvore.intervalo(obj1, false, obj2, false).iterator();
             while (iterator.hasNext()) {
                 Medalhista medalhista = iterator.next();
                 if (medalhista != null && medalhista.contarMedalhas(tipoMedalha) != 0) {
@@ -566,7 +731,7 @@ public class Aplicacao {
     }
 
     private static BST<Medalhista> carregarMedalhistas(String csvFile) {
-        BST<Medalhista> medalhistas = new BST<>();
+        Map<String, Medalhista> medalhistas = new HashMap<>();
         String line;
         String csvSplitBy = ",";
 
@@ -591,23 +756,24 @@ public class Aplicacao {
                     continue;
                 }
 
-                Medalhista medalhista = new Medalhista(nome, genero, nascimento, pais);
-
                 Medalha medalha = new Medalha(tipoMedalha, medalhaData);
 
-                Medalhista existente = medalhistas.localizar(medalhista);
+                Medalhista medalhista = medalhistas.get(nome);
 
-                if (existente != null) {
-                    existente.incluirMedalha(medalha);
-                } else {
-                    medalhista.incluirMedalha(medalha);
-                    medalhistas.add(medalhista);
+                if (medalhista == null) {
+                    medalhista = new Medalhista(nome, genero, nascimento, pais);
+                    medalhistas.put(nome, medalhista);
                 }
+                medalhista.incluirMedalha(medalha);
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
 
-        return medalhistas;
+        // os medalhistas são agrupados por nome durante a leitura e a árvore é
+        // construída de uma vez, já balanceada, a partir deles em ordem.
+        Medalhista[] ordenados = medalhistas.values().toArray(new Medalhista[0]);
+        Arrays.sort(ordenados);
+        return new BST<>(ordenados);
     }
 }
@@ -4,6 +4,9 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Scanner;
+import java.util.ArrayDeque;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 
 /**
  * Classe Medalhista: representa um medalhista olímpico e sua coleção de
@@ -284,23 +287,43 @@ class Node<E extends Comparable<E>> {
     private Node<E> esquerda;
     private Node<E> direita;
     private E item;
+    /** Quantidade de nós da subárvore enraizada neste nó (incluindo ele) */
+    private int tamanho;
 
     public Node() {
         this.setItem(null);
         this.setEsquerda(null);
         this.setDireita(null);
+        this.setTamanho(0);
     }
 
     public Node(E item) {
         this.setItem(item);
         this.setEsquerda(null);
         this.setDireita(null);
+        this.setTamanho(1);
     }
 
     public Node(E item, Node<E> esquerda, Node<E> direita) {
         this.setItem(null);
         this.setEsquerda(esquerda);
         this.setDireita(direita);
+        this.setTamanho(1 + tamanho(esquerda) + tamanho(direita));
+    }
+
+    /**
+     * Tamanho da subárvore enraizada no nó informado; 0 para uma subárvore vazia.
+     */
+    public static int tamanho(Node<?> no) {
+        return (no == null) ? 0 : no.getTamanho();
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
     }
 
     public Node<E> getEsquerda() {
@@ -339,124 +362,248 @@ class BST<E extends Comparable<E>> {
         return this.raiz == null;
     }
 
+    // As operações abaixo são iterativas: descem pela árvore com laços (e, nos
+    // caminhamentos, com uma pilha explícita), de modo que funcionam em qualquer
+    // altura, inclusive em árvores degeneradas construídas a partir de dados
+    // ordenados, sem risco de StackOverflowError.
+
     public E localizar(E item) {
-        return localizar(raiz, item);
+        Node<E> atual = raiz;
+        while (atual != null) {
+            int comparacao = item.compareTo(atual.getItem());
+            if (comparacao == 0) {
+                return atual.getItem();
+            }
+            atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+        }
+        return null;
     }
 
-    private E localizar(Node<E> raizArvore, E item) {
-        int comparacao;
-        if (raizArvore == null) {
-            return null;
-        }
-        comparacao = item.compareTo(raizArvore.getItem());
-        if (comparacao == 0) {
-            return raizArvore.getItem();
-        } else if (comparacao < 0) {
-            return localizar(raizArvore.getEsquerda(), item);
-        } else {
-            return localizar(raizArvore.getDireita(), item);
+    public void add(E item) {
+        if (localizarOuIncluirNo(item) != null) {
+            throw new IllegalArgumentException("Elemento duplicado não permitido na árvore.");
         }
     }
 
-    public void add(E item) {
-        this.raiz = add(raiz, item);
+    /**
+     * Localiza o item na árvore e, caso ele não exista, o inclui. Faz uma única
+     * descida, ao contrário de chamar localizar e depois add.
+     * 
+     * @param item Item a ser localizado ou incluído.
+     * @return O item que está na árvore: o já existente, igual ao informado
+     *         segundo compareTo, ou o próprio item informado, se foi incluído.
+     */
+    public E localizarOuIncluir(E item) {
+        Node<E> existente = localizarOuIncluirNo(item);
+        return (existente == null) ? item : existente.getItem();
     }
 
-    private Node<E> add(Node<E> raizArvore, E item) {
-        int comparacao;
-        if (raizArvore == null) {
-            raizArvore = new Node<E>(item);
-        }else {
-            comparacao = item.compareTo(raizArvore.getItem());
+    /**
+     * Inclui o item na árvore ou, se já existir um item igual a ele, substitui o
+     * existente pelo resultado de combinar(existente, item), numa única descida.
+     * O resultado da combinação deve ser igual ao item existente segundo
+     * compareTo, para que a ordem da árvore se mantenha.
+     * 
+     * @param item     Item a ser incluído ou combinado com o existente.
+     * @param combinar Função que combina o item existente com o informado.
+     * @return O item que ficou na árvore.
+     */
+    public E mesclar(E item, BinaryOperator<E> combinar) {
+        Node<E> existente = localizarOuIncluirNo(item);
+        if (existente == null) {
+            return item;
+        }
+        existente.setItem(combinar.apply(existente.getItem(), item));
+        return existente.getItem();
+    }
+
+    /**
+     * Desce pela árvore procurando o item: se encontrar um igual, retorna o seu
+     * nó sem alterar a árvore; senão, inclui o item na posição em que a busca
+     * terminou, atualiza o tamanho dos nós do caminho e retorna null.
+     * O tamanho dos nós só é atualizado depois da inclusão, já que um item
+     * encontrado não altera a árvore.
+     */
+    private Node<E> localizarOuIncluirNo(E item) {
+        if (raiz == null) {
+            raiz = new Node<E>(item);
+            return null;
+        }
+        ArrayDeque<Node<E>> caminho = new ArrayDeque<>();
+        Node<E> atual = raiz;
+        while (true) {
+            caminho.push(atual);
+            int comparacao = item.compareTo(atual.getItem());
             if (comparacao == 0) {
-                throw new IllegalArgumentException("Elemento duplicado não permitido na árvore.");
+                return atual;
             } else if (comparacao < 0) {
-                raizArvore.setEsquerda(add(raizArvore.getEsquerda(), item));
+                if (atual.getEsquerda() == null) {
+                    atual.setEsquerda(new Node<E>(item));
+                    break;
+                }
+                atual = atual.getEsquerda();
             } else {
-                raizArvore.setDireita(add(raizArvore.getDireita(), item));
+                if (atual.getDireita() == null) {
+                    atual.setDireita(new Node<E>(item));
+                    break;
+                }
+                atual = atual.getDireita();
             }
         }
-        return raizArvore;
+        for (Node<E> no : caminho) {
+            no.setTamanho(no.getTamanho() + 1);
+        }
+        return null;
     }
 
     public void remove(E item) {
-        this.raiz = remove(raiz, item);
-    }
-
-    private Node<E> remove(Node<E> raizArvore, E item) {
+        ArrayDeque<Node<E>> caminho = new ArrayDeque<>();
+        Node<E> pai = null;
+        Node<E> atual = raiz;
         int comparacao;
-        if (raizArvore == null) {
+
+        while (atual != null && (comparacao = item.compareTo(atual.getItem())) != 0) {
+            caminho.push(atual);
+            pai = atual;
+            atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+        }
+        if (atual == null) {
             throw new IllegalStateException("Elemento não encontrado ou árvore vazia.");
         }
-        comparacao = item.compareTo(raizArvore.getItem());
-        if (comparacao == 0) {
-            if (raizArvore.getEsquerda() == null) {
-                raizArvore = raizArvore.getDireita();
-            } else if (raizArvore.getDireita() == null) {
-                raizArvore = raizArvore.getEsquerda();
+
+        // todos os nós acima do nó fisicamente removido perdem um descendente.
+        for (Node<E> no : caminho) {
+            no.setTamanho(no.getTamanho() - 1);
+        }
+
+        if (atual.getEsquerda() != null && atual.getDireita() != null) {
+            // dois filhos: o item é substituído pelo do antecessor, que é então
+            // removido do seu lugar (ele não tem filho à direita).
+            atual.setTamanho(atual.getTamanho() - 1);
+            Node<E> paiAntecessor = atual;
+            Node<E> antecessor = atual.getEsquerda();
+            while (antecessor.getDireita() != null) {
+                paiAntecessor = antecessor;
+                antecessor = antecessor.getDireita();
+                paiAntecessor.setTamanho(paiAntecessor.getTamanho() - 1);
+            }
+            atual.setItem(antecessor.getItem());
+            if (paiAntecessor == atual) {
+                paiAntecessor.setEsquerda(antecessor.getEsquerda());
             } else {
-                raizArvore.setEsquerda(removeNoAntecessor(raizArvore, raizArvore.getEsquerda()));
+                paiAntecessor.setDireita(antecessor.getEsquerda());
             }
-        } else if (comparacao < 0) {
-            raizArvore.setEsquerda(remove(raizArvore.getEsquerda(), item));
-        } else {
-            raizArvore.setDireita(remove(raizArvore.getDireita(), item));
+            return;
         }
-        return raizArvore;
-    }
 
-    private Node<E> removeNoAntecessor(Node<E> removido, Node<E> raizArvore) {
-        if (raizArvore.getDireita() != null) {
-            raizArvore.setDireita(removeNoAntecessor(removido, raizArvore.getDireita()));
+        Node<E> filho = (atual.getEsquerda() != null) ? atual.getEsquerda() : atual.getDireita();
+        if (pai == null) {
+            raiz = filho;
+        } else if (pai.getEsquerda() == atual) {
+            pai.setEsquerda(filho);
         } else {
-            removido.setItem(raizArvore.getItem());
-            raizArvore = raizArvore.getEsquerda();
+            pai.setDireita(filho);
         }
-        return raizArvore;
     }
 
     public void caminhamentoEmOrdem() {
         if (isEmpty()) {
             throw new IllegalStateException("Árvore vazia.");
         } else {
-            caminhamentoEmOrdem(this.raiz);
+            caminhamentoEmOrdem(item -> System.out.println(item.toString()));
         }
     }
 
-    private void caminhamentoEmOrdem(Node<E> raizArvore) {
-        if (raizArvore != null) {
-            caminhamentoEmOrdem(raizArvore.getEsquerda());
-            System.out.println(raizArvore.getItem().toString());
-            caminhamentoEmOrdem(raizArvore.getDireita());
+    /**
+     * Visita os itens da árvore em ordem, usando uma pilha explícita no lugar
+     * da pilha de chamadas.
+     */
+    private void caminhamentoEmOrdem(Consumer<E> visitar) {
+        ArrayDeque<Node<E>> pilha = new ArrayDeque<>();
+        Node<E> atual = raiz;
+        while (atual != null || !pilha.isEmpty()) {
+            while (atual != null) {
+                pilha.push(atual);
+                atual = atual.getEsquerda();
+            }
+            atual = pilha.pop();
+            visitar.accept(atual.getItem());
+            atual = atual.getDireita();
         }
     }
 
-    private int contadorNode(Node<E> raizArvore) {
-        int cc = 0;
-        if (raizArvore != null) {
-            cc += 1;
-            cc += contadorNode(raizArvore.getEsquerda());
-            cc += contadorNode(raizArvore.getDireita());
-        }
-        return cc;
+    /**
+     * Quantidade de itens da árvore.
+     */
+    public int tamanho() {
+        return Node.tamanho(raiz);
     }
 
+    /**
+     * Quantidade de nós da subárvore enraizada no item informado, ou 0 caso o
+     * item não esteja na árvore. Como cada nó guarda o tamanho da sua
+     * subárvore, basta localizar o item.
+     */
     public int tamanho(E item) {
-        return tamanho(raiz, item);
+        Node<E> atual = raiz;
+        while (atual != null) {
+            int comparacoes = item.compareTo(atual.getItem());
+            if (comparacoes == 0) {
+                return atual.getTamanho();
+            }
+            atual = (comparacoes < 0) ? atual.getEsquerda() : atual.getDireita();
+        }
+        return 0;
     }
 
-    private int tamanho(Node<E> raizArvore, E item) {
-        int comparacoes;
-        if (raizArvore == null) {
-            return 0;
+    /**
+     * Posição do item na ordem da árvore (rank): quantidade de itens menores
+     * que ele. O item não precisa estar na árvore.
+     * 
+     * @param item Item cuja posição se deseja saber.
+     * @return Inteiro entre 0 e tamanho(), igual à posição (a partir de 0) que o
+     *         item ocupa, ou ocuparia, no caminhamento em ordem.
+     */
+    public int posicao(E item) {
+        int menores = 0;
+        Node<E> atual = raiz;
+        while (atual != null) {
+            int comparacao = item.compareTo(atual.getItem());
+            if (comparacao <= 0) {
+                if (comparacao == 0) {
+                    return menores + Node.tamanho(atual.getEsquerda());
+                }
+                atual = atual.getEsquerda();
+            } else {
+                menores += Node.tamanho(atual.getEsquerda()) + 1;
+                atual = atual.getDireita();
+            }
         }
-        comparacoes = item.compareTo(raizArvore.getItem());
-        if (comparacoes == 0) {
-            return contadorNode(raizArvore);
-        } else if (comparacoes < 0) {
-            return tamanho(raizArvore.getEsquerda(), item);
-        } else {
-            return tamanho(raizArvore.getDireita(), item);
+        return menores;
+    }
+
+    /**
+     * Seleciona o k-ésimo menor item da árvore (select), contando a partir de 0.
+     * 
+     * @param k Posição do item no caminhamento em ordem.
+     * @return O item que ocupa a posição k.
+     */
+    public E selecionar(int k) {
+        if (k < 0 || k >= tamanho()) {
+            throw new IndexOutOfBoundsException("Não foi possível selecionar o item: "
+                    + "a posição informada é inválida!");
+        }
+        Node<E> atual = raiz;
+        while (true) {
+            int tamanhoEsquerda = Node.tamanho(atual.getEsquerda());
+            if (k < tamanhoEsquerda) {
+                atual = atual.getEsquerda();
+            } else if (k > tamanhoEsquerda) {
+                k -= tamanhoEsquerda + 1;
+                atual = atual.getDireita();
+            } else {
+                return atual.getItem();
+            }
         }
     }
 }
@@ -520,9 +667,7 @@ public class Aplicacao1 {
 
                 medalhista.incluirMedalha(medalha);
     
-                if (medalhistas.localizar(medalhista) == null) {
-                    medalhistas.add(medalhista);
-                }
+                medalhistas.localizarOuIncluir(medalhista);
             }
         } catch (IOException e) {
             e.printStackTrace();
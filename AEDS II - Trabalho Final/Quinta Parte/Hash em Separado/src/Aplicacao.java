@@ -1,14 +1,17 @@
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Date;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Classe Medalhista: representa um medalhista olímpico e sua coleção de
@@ -387,7 +390,594 @@ class Entrada<K, V> {
     }
 }
 
-class TabelaHash<K, V> {
+/**
+ * Função de transformação (função hash) utilizada pelas tabelas hash.
+ * Além de calcular a posição de uma chave, a função define quais capacidades
+ * de tabela ela suporta (por exemplo, números primos ou potências de 2).
+ */
+interface IFuncaoHash<K> {
+
+    /**
+     * Calcula a posição, numa tabela com "capacidade" posições, em que o item
+     * com a chave informada deve ser armazenado.
+     * 
+     * @param chave:      chave do item.
+     * @param capacidade: tamanho da tabela hash; deve ter sido ajustado por
+     *                    "ajustarCapacidade".
+     * @return uma posição entre 0 e capacidade - 1.
+     */
+    public int posicao(K chave, int capacidade);
+
+    /**
+     * Retorna a menor capacidade, maior ou igual à informada, adequada a esta
+     * função de transformação.
+     */
+    public int ajustarCapacidade(int capacidade);
+}
+
+/**
+ * Função de transformação pelo método da divisão: resto da divisão do hashCode
+ * da chave pelo tamanho da tabela, que deve ser um número primo.
+ * O resto é calculado com Math.floorMod, que é sempre não negativo, inclusive
+ * para hashCodes negativos como Integer.MIN_VALUE.
+ */
+class HashDivisao<K> implements IFuncaoHash<K> {
+
+    @Override
+    public int posicao(K chave, int capacidade) {
+        return Math.floorMod(chave.hashCode(), capacidade);
+    }
+
+    @Override
+    public int ajustarCapacidade(int capacidade) {
+        int candidato = Math.max(capacidade, 2);
+        while (!primo(candidato))
+            candidato++;
+        return candidato;
+    }
+
+    private static boolean primo(int numero) {
+        if (numero < 2)
+            return false;
+        for (int divisor = 2; (long) divisor * divisor <= numero; divisor++)
+            if (numero % divisor == 0)
+                return false;
+        return true;
+    }
+}
+
+/**
+ * Função de transformação com mistura de bits: o hashCode da chave passa pelo
+ * finalizador do MurmurHash3, que faz cada bit de entrada afetar todos os bits
+ * de saída, e a posição é obtida com uma máscara sobre uma tabela cujo tamanho
+ * é potência de 2.
+ * Chaves como as datas "yyyy-MM-dd", que diferem apenas nos últimos
+ * caracteres, têm hashCodes muito próximos; a mistura evita que caiam em
+ * posições vizinhas ou repetidas.
+ */
+class HashMisturado<K> implements IFuncaoHash<K> {
+
+    /**
+     * Finalizador do MurmurHash3 (fmix32).
+     * 
+     * @param hash: valor a ser misturado.
+     * @return o valor com os bits misturados.
+     */
+    public static int misturar(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    @Override
+    public int posicao(K chave, int capacidade) {
+        return misturar(chave.hashCode()) & (capacidade - 1);
+    }
+
+    /// maior potência de 2 representável em um int.
+    static final int CAPACIDADE_MAXIMA = 1 << 30;
+
+    @Override
+    public int ajustarCapacidade(int capacidade) {
+        return potenciaDeDois(capacidade);
+    }
+
+    /**
+     * Retorna a menor potência de 2 maior ou igual ao número informado.
+     * 
+     * @param numero: valor mínimo; não pode passar de CAPACIDADE_MAXIMA.
+     * @throws IllegalArgumentException se não houver potência de 2 que caiba
+     *                                  em um int e seja maior ou igual ao número.
+     */
+    static int potenciaDeDois(int numero) {
+        if (numero > CAPACIDADE_MAXIMA)
+            throw new IllegalArgumentException("A capacidade não pode passar de " + CAPACIDADE_MAXIMA + ".");
+        int potencia = 1;
+        while (potencia < numero)
+            potencia <<= 1;
+        return potencia;
+    }
+}
+
+interface ITabelaHash<K, V> {
+
+    public void inserir(K chave, V valor);
+
+    public V pesquisar(K chave);
+
+    public V remover(K chave);
+
+    public Lista<K> chaves();
+
+    public int tamanho();
+}
+
+/**
+ * Tabela hash com endereçamento aberto (sondagem linear).
+ * Chaves, valores e hashCodes das chaves ficam em vetores paralelos, de modo
+ * que a inserção não aloca nenhum objeto por item e a pesquisa percorre
+ * posições contíguas da memória em vez de encadear células.
+ * A remoção desloca para trás os itens seguintes do mesmo agrupamento, e por
+ * isso a tabela não precisa de marcadores de posição removida.
+ */
+class TabelaHashEnderecamentoAberto<K, V> implements ITabelaHash<K, V> {
+
+    /// fator de carga padrão. Na sondagem linear, o custo das pesquisas cresce
+    /// rapidamente acima de 0,5 - 0,7.
+    private static final double FATOR_CARGA_PADRAO = 0.5;
+
+    private K[] chaves; /// chaves armazenadas; null indica posição livre.
+    private V[] valores; /// valores associados a cada chave, na mesma posição.
+    private int[] hashes; /// hashCode de cada chave, guardado para evitar recalculá-lo.
+
+    private int capacidade; /// tamanho dos vetores; sempre uma potência de 2.
+    private int quantidade; /// quantidade de itens armazenados.
+    private final double fatorCargaMaximo; /// fator de carga que dispara o redimensionamento.
+
+    /**
+     * Construtor da classe.
+     * A capacidade é arredondada para a menor potência de 2 maior ou igual ao
+     * valor informado, o que permite calcular a posição com uma máscara de bits.
+     * 
+     * @param capacidade: tamanho inicial da tabela hash.
+     */
+    public TabelaHashEnderecamentoAberto(int capacidade) {
+        this(capacidade, FATOR_CARGA_PADRAO);
+    }
+
+    /**
+     * Construtor da classe com fator de carga configurável.
+     * 
+     * @param capacidade:       tamanho inicial da tabela hash.
+     * @param fatorCargaMaximo: fator de carga (entre 0 e 1, exclusive) que
+     *                          dispara o redimensionamento.
+     */
+    public TabelaHashEnderecamentoAberto(int capacidade, double fatorCargaMaximo) {
+
+        if (capacidade <= 0)
+            throw new IllegalArgumentException("A capacidade da tabela hash deve ser positiva.");
+        if (fatorCargaMaximo <= 0 || fatorCargaMaximo >= 1)
+            throw new IllegalArgumentException("O fator de carga deve estar entre 0 e 1.");
+
+        this.fatorCargaMaximo = fatorCargaMaximo;
+        this.quantidade = 0;
+        alocar(HashMisturado.potenciaDeDois(capacidade));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void alocar(int tamanho) {
+        this.capacidade = tamanho;
+        this.chaves = (K[]) new Object[tamanho];
+        this.valores = (V[]) new Object[tamanho];
+        this.hashes = new int[tamanho];
+    }
+
+    @Override
+    public int tamanho() {
+        return quantidade;
+    }
+
+    /**
+     * Calcula a posição inicial de sondagem a partir do hashCode da chave.
+     * Os bits são misturados antes da máscara, já que apenas os bits baixos
+     * escolhem a posição.
+     */
+    private int posicaoInicial(int hash) {
+        return HashMisturado.misturar(hash) & (capacidade - 1);
+    }
+
+    /**
+     * Procura a posição ocupada pela chave informada.
+     * 
+     * @return a posição da chave, ou -1 caso ela não esteja na tabela.
+     */
+    private int localizarPosicao(K chave, int hash) {
+        int posicao = posicaoInicial(hash);
+
+        while (chaves[posicao] != null) {
+            if (hashes[posicao] == hash && chaves[posicao].equals(chave))
+                return posicao;
+            posicao = (posicao + 1) & (capacidade - 1);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Método responsável por inserir um novo item na tabela hash.
+     * Não é permitido inserir, nessa tabela hash, mais de um item com uma mesma
+     * chave: caso a chave já exista, seu valor é substituído.
+     * 
+     * @param chave: chave do item que deve ser inserido na tabela hash.
+     * @param valor: referência ao item que deve ser inserido na tabela hash.
+     */
+    @Override
+    public void inserir(K chave, V valor) {
+
+        if (chave == null)
+            throw new IllegalArgumentException("Não é permitido inserir uma chave nula na tabela hash.");
+
+        if (quantidade + 1 > capacidade * fatorCargaMaximo)
+            crescer();
+
+        int hash = chave.hashCode();
+        int posicao = posicaoInicial(hash);
+
+        while (chaves[posicao] != null) {
+            if (hashes[posicao] == hash && chaves[posicao].equals(chave)) {
+                valores[posicao] = valor;
+                return;
+            }
+            posicao = (posicao + 1) & (capacidade - 1);
+        }
+
+        chaves[posicao] = chave;
+        valores[posicao] = valor;
+        hashes[posicao] = hash;
+        quantidade++;
+    }
+
+    /**
+     * Dobra a capacidade da tabela. Na capacidade máxima, a tabela deixa de
+     * crescer e o fator de carga passa a subir, até restar uma única posição
+     * livre, necessária para que as sondagens terminem.
+     * 
+     * @throws IllegalStateException se a tabela, na capacidade máxima, estiver cheia.
+     */
+    private void crescer() {
+        if (capacidade < HashMisturado.CAPACIDADE_MAXIMA)
+            redimensionar(capacidade * 2);
+        else if (quantidade + 1 >= capacidade)
+            throw new IllegalStateException("A tabela hash atingiu a capacidade máxima de "
+                    + HashMisturado.CAPACIDADE_MAXIMA + " posições.");
+    }
+
+    /**
+     * Recria os vetores com o novo tamanho e reinsere todos os itens,
+     * reaproveitando os hashCodes já calculados.
+     */
+    private void redimensionar(int novoTamanho) {
+        K[] chavesAntigas = chaves;
+        V[] valoresAntigos = valores;
+        int[] hashesAntigos = hashes;
+
+        alocar(novoTamanho);
+
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != null) {
+                int posicao = posicaoInicial(hashesAntigos[i]);
+                while (chaves[posicao] != null)
+                    posicao = (posicao + 1) & (capacidade - 1);
+                chaves[posicao] = chavesAntigas[i];
+                valores[posicao] = valoresAntigos[i];
+                hashes[posicao] = hashesAntigos[i];
+            }
+        }
+    }
+
+    /**
+     * Método responsável por localizar, na tabela hash, o item
+     * cuja chave corresponde à que foi passada como parâmetro para esse método.
+     * 
+     * @param chave: chave do item que deve ser localizado na tabela hash.
+     * @return uma referência ao item encontrado, ou null caso o item não seja
+     *         localizado na tabela hash.
+     */
+    @Override
+    public V pesquisar(K chave) {
+        int posicao = localizarPosicao(chave, chave.hashCode());
+        return (posicao < 0) ? null : valores[posicao];
+    }
+
+    /**
+     * Método responsável por remover, da tabela hash, o item
+     * cuja chave corresponde à que foi passada como parâmetro para esse método.
+     * Os itens seguintes do mesmo agrupamento são deslocados para trás, de modo
+     * que nenhuma sequência de sondagem fique interrompida.
+     * 
+     * @param chave: chave do item que deve ser removido da tabela hash.
+     * @return uma referência ao item removido.
+     *         O método lança uma exceção caso o item não tenha sido localizado na
+     *         tabela hash.
+     */
+    @Override
+    public V remover(K chave) {
+        int livre = localizarPosicao(chave, chave.hashCode());
+
+        if (livre < 0)
+            throw new NoSuchElementException("Item não encontrado!");
+
+        V removido = valores[livre];
+        int mascara = capacidade - 1;
+        int atual = livre;
+
+        while (true) {
+            atual = (atual + 1) & mascara;
+            if (chaves[atual] == null)
+                break;
+
+            /// o item em "atual" só pode ocupar a posição livre se a sua posição
+            /// inicial não estiver no intervalo circular (livre, atual].
+            int inicial = posicaoInicial(hashes[atual]);
+            if (((atual - inicial) & mascara) >= ((atual - livre) & mascara)) {
+                chaves[livre] = chaves[atual];
+                valores[livre] = valores[atual];
+                hashes[livre] = hashes[atual];
+                livre = atual;
+            }
+        }
+
+        chaves[livre] = null;
+        valores[livre] = null;
+        quantidade--;
+        return removido;
+    }
+
+    @Override
+    public Lista<K> chaves() {
+        Lista<K> listaChaves = new Lista<>();
+        for (int i = 0; i < capacidade; i++) {
+            if (chaves[i] != null)
+                listaChaves.inserirFinal(chaves[i]);
+        }
+        return listaChaves;
+    }
+
+    /**
+     * Método responsável por imprimir todo o conteúdo da tabela hash.
+     * É impresso o índice de cada posição ocupada e o item nela armazenado.
+     */
+    public void imprimir() {
+        for (int i = 0; i < capacidade; i++) {
+            System.out.println("Posição[" + i + "]: ");
+            if (chaves[i] == null)
+                System.out.println("vazia");
+            else
+                System.out.println(chaves[i] + "\n" + valores[i]);
+        }
+    }
+}
+
+/**
+ * Tabela hash com endereçamento em separado que pode ser compartilhada entre
+ * várias threads.
+ * A pesquisa não utiliza nenhum bloqueio: as listas são formadas por células
+ * imutáveis (exceto o valor, que é volatile) e o vetor de listas é publicado
+ * por uma referência volatile. Inserções e remoções bloqueiam apenas a listra
+ * (grupo de posições) a que a chave pertence; o redimensionamento bloqueia
+ * todas as listras.
+ * A listra de uma chave depende só dos bits baixos do seu hash misturado, e a
+ * capacidade é sempre uma potência de 2 maior ou igual à quantidade de
+ * listras; assim, todas as chaves de uma posição pertencem à mesma listra, em
+ * qualquer capacidade.
+ */
+class TabelaHashConcorrente<K, V> implements ITabelaHash<K, V> {
+
+    private static final int QUANTIDADE_LISTRAS = 64;
+
+    private static final double FATOR_CARGA_MAXIMO = 0.75;
+
+    /// Célula da lista encadeada. Apenas o valor pode mudar após a criação;
+    /// a remoção recria as células anteriores à removida.
+    private static final class No<K, V> {
+        final int hash;
+        final K chave;
+        volatile V valor;
+        final No<K, V> proximo;
+
+        No(int hash, K chave, V valor, No<K, V> proximo) {
+            this.hash = hash;
+            this.chave = chave;
+            this.valor = valor;
+            this.proximo = proximo;
+        }
+    }
+
+    private volatile AtomicReferenceArray<No<K, V>> tabela; /// listas da tabela hash.
+
+    private final ReentrantLock[] listras; /// um bloqueio para cada grupo de posições.
+
+    private final AtomicInteger quantidade; /// quantidade de itens armazenados.
+
+    /**
+     * Construtor da classe.
+     * 
+     * @param capacidade: tamanho inicial da tabela hash; é arredondado para uma
+     *                    potência de 2 de no mínimo QUANTIDADE_LISTRAS, e não
+     *                    pode passar de HashMisturado.CAPACIDADE_MAXIMA.
+     */
+    public TabelaHashConcorrente(int capacidade) {
+        int tamanho = HashMisturado.potenciaDeDois(Math.max(capacidade, QUANTIDADE_LISTRAS));
+
+        this.tabela = new AtomicReferenceArray<>(tamanho);
+        this.listras = new ReentrantLock[QUANTIDADE_LISTRAS];
+        for (int i = 0; i < QUANTIDADE_LISTRAS; i++)
+            this.listras[i] = new ReentrantLock();
+        this.quantidade = new AtomicInteger(0);
+    }
+
+    @Override
+    public int tamanho() {
+        return quantidade.get();
+    }
+
+    private static int hash(Object chave) {
+        return HashMisturado.misturar(chave.hashCode());
+    }
+
+    /**
+     * Pesquisa, sem bloqueios, o valor associado à chave informada.
+     * 
+     * @param chave: chave do item que deve ser localizado na tabela hash.
+     * @return o valor associado à chave, ou null caso ela não esteja na tabela.
+     */
+    @Override
+    public V pesquisar(K chave) {
+        int hash = hash(chave);
+        AtomicReferenceArray<No<K, V>> atual = this.tabela;
+
+        for (No<K, V> no = atual.get(hash & (atual.length() - 1)); no != null; no = no.proximo) {
+            if (no.hash == hash && no.chave.equals(chave))
+                return no.valor;
+        }
+        return null;
+    }
+
+    /**
+     * Insere um item na tabela hash, bloqueando apenas a listra da chave.
+     * Caso a chave já exista, seu valor é substituído.
+     * 
+     * @param chave: chave do item que deve ser inserido na tabela hash.
+     * @param valor: referência ao item que deve ser inserido na tabela hash.
+     */
+    @Override
+    public void inserir(K chave, V valor) {
+        int hash = hash(chave);
+        int capacidadeAtual;
+        ReentrantLock listra = listras[hash & (QUANTIDADE_LISTRAS - 1)];
+
+        listra.lock();
+        try {
+            AtomicReferenceArray<No<K, V>> atual = this.tabela;
+            int posicao = hash & (atual.length() - 1);
+            No<K, V> primeiro = atual.get(posicao);
+
+            for (No<K, V> no = primeiro; no != null; no = no.proximo) {
+                if (no.hash == hash && no.chave.equals(chave)) {
+                    no.valor = valor;
+                    return;
+                }
+            }
+
+            atual.set(posicao, new No<>(hash, chave, valor, primeiro));
+            capacidadeAtual = atual.length();
+        } finally {
+            listra.unlock();
+        }
+
+        if (quantidade.incrementAndGet() > capacidadeAtual * FATOR_CARGA_MAXIMO
+                && capacidadeAtual < HashMisturado.CAPACIDADE_MAXIMA)
+            redimensionar(capacidadeAtual);
+    }
+
+    /**
+     * Remove um item da tabela hash, bloqueando apenas a listra da chave.
+     * As células anteriores à removida são recriadas, de modo que uma pesquisa
+     * concorrente sempre percorre uma lista consistente.
+     * 
+     * @param chave: chave do item que deve ser removido da tabela hash.
+     * @return uma referência ao item removido.
+     *         O método lança uma exceção caso o item não tenha sido localizado na
+     *         tabela hash.
+     */
+    @Override
+    public V remover(K chave) {
+        int hash = hash(chave);
+        ReentrantLock listra = listras[hash & (QUANTIDADE_LISTRAS - 1)];
+
+        listra.lock();
+        try {
+            AtomicReferenceArray<No<K, V>> atual = this.tabela;
+            int posicao = hash & (atual.length() - 1);
+            No<K, V> primeiro = atual.get(posicao);
+
+            No<K, V> removido = primeiro;
+            while (removido != null && !(removido.hash == hash && removido.chave.equals(chave)))
+                removido = removido.proximo;
+
+            if (removido == null)
+                throw new NoSuchElementException("Item não encontrado!");
+
+            No<K, V> novoPrimeiro = removido.proximo;
+            for (No<K, V> no = primeiro; no != removido; no = no.proximo)
+                novoPrimeiro = new No<>(no.hash, no.chave, no.valor, novoPrimeiro);
+
+            atual.set(posicao, novoPrimeiro);
+            quantidade.decrementAndGet();
+            return removido.valor;
+        } finally {
+            listra.unlock();
+        }
+    }
+
+    /**
+     * Dobra a capacidade da tabela, bloqueando todas as listras. Na capacidade
+     * máxima, a tabela deixa de crescer e as listas ficam mais longas.
+     * As células são copiadas para o novo vetor, que só então é publicado;
+     * pesquisas concorrentes continuam percorrendo o vetor antigo, que não é
+     * mais alterado.
+     * 
+     * @param capacidadeVista: capacidade observada por quem pediu o
+     *                         redimensionamento; se outra thread já
+     *                         redimensionou a tabela, nada é feito.
+     */
+    private void redimensionar(int capacidadeVista) {
+        for (ReentrantLock listra : listras)
+            listra.lock();
+        try {
+            AtomicReferenceArray<No<K, V>> antiga = this.tabela;
+            if (antiga.length() != capacidadeVista)
+                return;
+
+            AtomicReferenceArray<No<K, V>> nova = new AtomicReferenceArray<>(antiga.length() * 2);
+            for (int i = 0; i < antiga.length(); i++) {
+                for (No<K, V> no = antiga.get(i); no != null; no = no.proximo) {
+                    int posicao = no.hash & (nova.length() - 1);
+                    nova.set(posicao, new No<>(no.hash, no.chave, no.valor, nova.get(posicao)));
+                }
+            }
+            this.tabela = nova;
+        } finally {
+            for (int i = listras.length - 1; i >= 0; i--)
+                listras[i].unlock();
+        }
+    }
+
+    /**
+     * Retorna as chaves armazenadas. A lista reflete a tabela em algum momento
+     * durante a chamada, sem bloquear as demais operações.
+     */
+    @Override
+    public Lista<K> chaves() {
+        Lista<K> listaChaves = new Lista<>();
+        AtomicReferenceArray<No<K, V>> atual = this.tabela;
+
+        for (int i = 0; i < atual.length(); i++) {
+            for (No<K, V> no = atual.get(i); no != null; no = no.proximo)
+                listaChaves.inserirFinal(no.chave);
+        }
+        return listaChaves;
+    }
+}
+
+class TabelaHash<K, V> implements ITabelaHash<K, V> {
+
+    /// fator de carga padrão: quando a razão entre a quantidade de itens e a
+    /// capacidade ultrapassa esse valor, a tabela é redimensionada.
+    private static final double FATOR_CARGA_PADRAO = 0.75;
 
     private Lista<Entrada<K, V>>[] tabelaHash; /// tabela que referenciará todas as listas lineares encadeadas.
     /// Nesse caso, estamos utilizando uma tabela hash com endereçamento em
@@ -398,6 +988,18 @@ class TabelaHash<K, V> {
                             /// deve ser um número primo grande para diminuirmos a probabilidade de
                             /// colisões.
 
+    private int quantidade; /// quantidade de itens armazenados na tabela hash.
+
+    private final double fatorCargaMaximo; /// fator de carga que dispara o redimensionamento.
+
+    private Lista<Entrada<K, V>>[] tabelaAntiga; /// tabela em migração durante o redimensionamento (ou null).
+
+    private int posicaoMigracao; /// próxima posição da tabela antiga a ser migrada.
+
+    private int posicoesPorInsercao; /// posições da tabela antiga migradas a cada inserção.
+
+    private final IFuncaoHash<K> estrategiaHash; /// função de transformação utilizada pela tabela.
+
     /**
      * Construtor da classe.
      * Esse método é responsável por inicializar a tabela hash que trabalha com
@@ -408,29 +1010,93 @@ class TabelaHash<K, V> {
      * lineares; e o atribui ao atributo "tabelaHash".
      * Adicionalmente, cada posição do vetor é inicializada com uma lista encadeada
      * vazia.
+     * A tabela é redimensionada automaticamente quando o fator de carga padrão
+     * (0,75) é ultrapassado, e utiliza a função de transformação pelo método da
+     * divisão.
      * 
-     * @param capacidade: tamanho da tabela hash.
+     * @param capacidade: tamanho inicial da tabela hash.
      */
-    @SuppressWarnings("unchecked")
     public TabelaHash(int capacidade) {
+        this(capacidade, FATOR_CARGA_PADRAO, new HashDivisao<>());
+    }
+
+    /**
+     * Construtor da classe com função de transformação configurável.
+     * 
+     * @param capacidade:     tamanho inicial da tabela hash; é ajustado pela
+     *                        função de transformação (por exemplo, para um primo
+     *                        ou uma potência de 2).
+     * @param estrategiaHash: função de transformação utilizada pela tabela.
+     */
+    public TabelaHash(int capacidade, IFuncaoHash<K> estrategiaHash) {
+        this(capacidade, FATOR_CARGA_PADRAO, estrategiaHash);
+    }
 
-        this.capacidade = capacidade;
-        this.tabelaHash = (Lista<Entrada<K, V>>[]) new Lista[this.capacidade];
+    /**
+     * Construtor da classe com fator de carga configurável.
+     * Quando a razão entre a quantidade de itens e a capacidade ultrapassa
+     * "fatorCargaMaximo", a tabela passa a ser redimensionada de forma
+     * incremental: uma nova tabela é criada e as posições da tabela antiga são
+     * migradas aos poucos, a cada inserção, evitando uma pausa única para
+     * reespalhar todos os itens.
+     * 
+     * @param capacidade:       tamanho inicial da tabela hash.
+     * @param fatorCargaMaximo: fator de carga que dispara o redimensionamento.
+     * @param estrategiaHash:   função de transformação utilizada pela tabela.
+     */
+    public TabelaHash(int capacidade, double fatorCargaMaximo, IFuncaoHash<K> estrategiaHash) {
 
-        for (int i = 0; i < this.capacidade; i++)
-            this.tabelaHash[i] = new Lista<>();
+        if (capacidade <= 0)
+            throw new IllegalArgumentException("A capacidade da tabela hash deve ser positiva.");
+        if (fatorCargaMaximo <= 0)
+            throw new IllegalArgumentException("O fator de carga da tabela hash deve ser positivo.");
+
+        this.estrategiaHash = estrategiaHash;
+        this.capacidade = estrategiaHash.ajustarCapacidade(capacidade);
+        this.fatorCargaMaximo = fatorCargaMaximo;
+        this.quantidade = 0;
+        this.tabelaHash = criarTabela(this.capacidade);
+        this.tabelaAntiga = null;
+        this.posicaoMigracao = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Lista<Entrada<K, V>>[] criarTabela(int tamanho) {
+
+        Lista<Entrada<K, V>>[] tabela = (Lista<Entrada<K, V>>[]) new Lista[tamanho];
+
+        for (int i = 0; i < tamanho; i++)
+            tabela[i] = new Lista<>();
+
+        return tabela;
+    }
+
+    @Override
+    public int tamanho() {
+        return quantidade;
+    }
+
+    public double fatorDeCarga() {
+        return (double) quantidade / capacidade;
     }
 
+    @Override
     public Lista<K> chaves() {
         Lista<K> listaChaves = new Lista<>();
-        for (int i = 0; i < tabelaHash.length; i++) {
-            if (tabelaHash[i] != null) {
-                for (Entrada<K, V> entrada : tabelaHash[i]) {
+        adicionarChaves(tabelaHash, listaChaves);
+        if (tabelaAntiga != null)
+            adicionarChaves(tabelaAntiga, listaChaves);
+        return listaChaves;
+    }
+
+    private void adicionarChaves(Lista<Entrada<K, V>>[] tabela, Lista<K> listaChaves) {
+        for (int i = 0; i < tabela.length; i++) {
+            if (tabela[i] != null) {
+                for (Entrada<K, V> entrada : tabela[i]) {
                     listaChaves.inserirFinal(entrada.getChave());
                 }
             }
         }
-        return listaChaves;
     }
 
     /**
@@ -438,28 +1104,36 @@ class TabelaHash<K, V> {
      * ou seja, calcula a posição, na tabela hash, em que o item,
      * que possui a chave informada por meio do parâmetro "chave", deve ser
      * encontrado.
-     * A função de transformação utilizada corresponde ao resto da divisão do
-     * hashCode de "chave" pelo tamanho da tabela hash.
+     * O cálculo é delegado à função de transformação escolhida na construção
+     * da tabela (por padrão, o resto da divisão do hashCode de "chave" pelo
+     * tamanho da tabela hash).
      * 
-     * @param chave: chave da qual desejamos saber a posição na tabela hash.
+     * @param chave:   chave da qual desejamos saber a posição na tabela hash.
+     * @param tamanho: tamanho da tabela hash considerada.
      * @return a posição que o item, cuja chave corresponde a que foi passada como
      *         parâmetro para esse método, deve ocupar na tabela hash.
      */
-    private int funcaoHash(K chave) {
-        return Math.abs(chave.hashCode() % this.capacidade);
+    private int funcaoHash(K chave, int tamanho) {
+        return estrategiaHash.posicao(chave, tamanho);
     }
 
     /**
      * Método responsável por inserir um novo item na tabela hash.
      * Não é permitido inserir, nessa tabela hash, mais de um item com uma mesma
      * chave.
+     * Se um redimensionamento estiver em andamento, algumas posições da tabela
+     * antiga são migradas antes da inserção.
      * 
      * @param chave: chave do item que deve ser inserido na tabela hash.
      * @param item:  referência ao item que deve ser inserido na tabela hash.
-     * @return a posição na tabela hash em que o novo item foi inserido.
      */
+    @Override
     public void inserir(K chave, V valor) {
-        int posicao = funcaoHash(chave);
+
+        if (tabelaAntiga != null)
+            migrar(posicoesPorInsercao);
+
+        int posicao = funcaoHash(chave, this.capacidade);
         // System.out.println("Posição calculada para a chave " + chave + ": " +
         // posicao); dbug
 
@@ -469,26 +1143,110 @@ class TabelaHash<K, V> {
 
         Entrada<K, V> novaEntrada = new Entrada<>(chave, valor);
         this.tabelaHash[posicao].inserirFinal(novaEntrada);
+        this.quantidade++;
+
+        if (fatorDeCarga() > fatorCargaMaximo && tabelaAntiga == null)
+            iniciarRedimensionamento();
+    }
+
+    /**
+     * Inicia o redimensionamento incremental da tabela hash.
+     * A tabela atual passa a ser a tabela antiga, e uma nova tabela, com
+     * capacidade de pelo menos o dobro da atual (ajustada pela função de
+     * transformação), é criada. Os itens são migrados aos poucos pelo método "migrar".
+     * A quantidade de posições migradas por inserção é calculada de modo que a
+     * migração termine antes de a nova tabela atingir o fator de carga máximo:
+     * a capacidade antiga dividida pelas inserções que ainda cabem na nova
+     * tabela. Com fator de carga 0,75, são 2 posições por inserção; com fatores
+     * menores, mais posições.
+     * A capacidade não passa de HashMisturado.CAPACIDADE_MAXIMA; ao atingi-la, a
+     * tabela deixa de crescer e o fator de carga passa a subir.
+     */
+    private void iniciarRedimensionamento() {
+        int dobro = (this.capacidade > HashMisturado.CAPACIDADE_MAXIMA / 2) ? HashMisturado.CAPACIDADE_MAXIMA
+                : 2 * this.capacidade;
+        int novaCapacidade = estrategiaHash.ajustarCapacidade(dobro);
+        if (novaCapacidade <= this.capacidade)
+            return;
+
+        long insercoesDisponiveis = Math.max(1, (long) Math.floor(fatorCargaMaximo * novaCapacidade) - quantidade);
+        this.posicoesPorInsercao = (int) Math.min(this.capacidade,
+                (this.capacidade + insercoesDisponiveis - 1) / insercoesDisponiveis);
+        this.tabelaAntiga = this.tabelaHash;
+        this.posicaoMigracao = 0;
+        this.capacidade = novaCapacidade;
+        this.tabelaHash = criarTabela(this.capacidade);
+    }
+
+    /**
+     * Migra até "posicoes" listas da tabela antiga para a tabela atual.
+     * Ao final da migração, a tabela antiga é descartada.
+     * 
+     * @param posicoes: quantidade máxima de posições da tabela antiga a migrar.
+     */
+    private void migrar(int posicoes) {
+
+        for (int i = 0; i < posicoes && posicaoMigracao < tabelaAntiga.length; i++, posicaoMigracao++) {
+            Lista<Entrada<K, V>> lista = tabelaAntiga[posicaoMigracao];
+            if (lista != null) {
+                for (Entrada<K, V> entrada : lista) {
+                    this.tabelaHash[funcaoHash(entrada.getChave(), this.capacidade)].inserirFinal(entrada);
+                }
+                tabelaAntiga[posicaoMigracao] = null;
+            }
+        }
+
+        if (posicaoMigracao >= tabelaAntiga.length) {
+            tabelaAntiga = null;
+            posicaoMigracao = 0;
+        }
+    }
+
+    /**
+     * Retorna a lista encadeada em que o item com a chave informada está
+     * armazenado: a da tabela antiga, se a posição correspondente ainda não
+     * tiver sido migrada, ou a da tabela atual.
+     */
+    private Lista<Entrada<K, V>> listaDaChave(K chave) {
+
+        if (tabelaAntiga != null) {
+            Lista<Entrada<K, V>> antiga = tabelaAntiga[funcaoHash(chave, tabelaAntiga.length)];
+            if (antiga != null && antiga.pesquisar(new Entrada<>(chave, null)) != null)
+                return antiga;
+        }
+
+        return this.tabelaHash[funcaoHash(chave, this.capacidade)];
     }
 
     /**
      * Método responsável por localizar, na tabela hash, o item
      * cuja chave corresponde à que foi passada como parâmetro para esse método.
+     * Durante um redimensionamento, a pesquisa considera também a tabela antiga,
+     * sem alterar nenhuma das duas.
      * 
      * @param chave: chave do item que deve ser localizado na tabela hash.
-     * @return uma referência ao item encontrado.
-     *         O método lança uma exceção caso o item não seja localizado na tabela
-     *         hash.
+     * @return uma referência ao item encontrado, ou null caso o item não seja
+     *         localizado na tabela hash.
      */
 
+    @Override
     public V pesquisar(K chave) {
         // System.out.println("Pesquisando para a chave: " + chave); dbug
         // Cálculo da posição na tabela hash usando a função de hash
-        int posicao = funcaoHash(chave);
+        V valor = pesquisar(this.tabelaHash, chave);
+
+        if (valor == null && tabelaAntiga != null)
+            valor = pesquisar(tabelaAntiga, chave);
+
+        return valor;
+    }
+
+    private V pesquisar(Lista<Entrada<K, V>>[] tabela, K chave) {
+        int posicao = funcaoHash(chave, tabela.length);
 
         // Verifica se a lista na posição não está vazia
-        if (this.tabelaHash[posicao] != null) {
-            for (Entrada<K, V> entrada : this.tabelaHash[posicao]) {
+        if (tabela[posicao] != null) {
+            for (Entrada<K, V> entrada : tabela[posicao]) {
                 if (entrada.getChave().equals(chave)) {
                     return entrada.getValor(); // Retorna o valor se encontrado
                 }
@@ -508,17 +1266,16 @@ class TabelaHash<K, V> {
      *         O método lança uma exceção caso o item não tenha sido localizado na
      *         tabela hash.
      */
+    @Override
     public V remover(K chave) {
 
-        /// cálculo da posição da tabela hash em que o item deve estar armazenado.
-        int posicao = funcaoHash(chave);
-
         Entrada<K, V> procurado = new Entrada<>(chave, null);
 
         /// remove o item, cuja chave foi passada como parâmetro para esse método,
         /// da lista encadeada associada à posição, da tabela hash, em que esse item
         /// deve estar armazenado.
-        procurado = this.tabelaHash[posicao].remover(procurado);
+        procurado = listaDaChave(chave).remover(procurado);
+        this.quantidade--;
         return procurado.getValor();
     }
 
@@ -529,9 +1286,13 @@ class TabelaHash<K, V> {
      * explicativa.
      * Caso contrário, para todos os itens, armazenados na lista encadeada
      * associada a uma posição da tabela hash, são impressos seus dados.
+     * Um redimensionamento em andamento é concluído antes da impressão.
      */
     public void imprimir() {
 
+        if (tabelaAntiga != null)
+            migrar(tabelaAntiga.length);
+
         for (int i = 0; i < this.capacidade; i++) {
             System.out.println("Posição[" + i + "]: ");
             if (this.tabelaHash[i].vazia())
@@ -540,6 +1301,44 @@ class TabelaHash<K, V> {
                 this.tabelaHash[i].imprimir();
         }
     }
+
+    /**
+     * Gera um relatório da distribuição dos itens pela tabela hash: posições
+     * vazias, tamanho da maior lista encadeada e um histograma que associa cada
+     * tamanho de lista à quantidade de posições com aquele tamanho.
+     * Um redimensionamento em andamento é concluído antes do relatório.
+     * 
+     * @return String, multilinhas, com as estatísticas de colisões.
+     */
+    public String estatisticasColisoes() {
+
+        if (tabelaAntiga != null)
+            migrar(tabelaAntiga.length);
+
+        int maiorLista = 0;
+        for (int i = 0; i < this.capacidade; i++)
+            maiorLista = Math.max(maiorLista, this.tabelaHash[i].tamanho());
+
+        int[] histograma = new int[maiorLista + 1];
+        for (int i = 0; i < this.capacidade; i++)
+            histograma[this.tabelaHash[i].tamanho()]++;
+
+        int ocupadas = this.capacidade - histograma[0];
+
+        StringBuilder relatorio = new StringBuilder();
+        relatorio.append("Capacidade: ").append(this.capacidade)
+                .append(". Itens: ").append(this.quantidade)
+                .append(String.format(". Fator de carga: %.2f%n", fatorDeCarga()));
+        relatorio.append("Posições vazias: ").append(histograma[0]).append("\n");
+        relatorio.append("Maior lista: ").append(maiorLista).append("\n");
+        relatorio.append(String.format("Tamanho médio das listas ocupadas: %.2f%n",
+                (ocupadas == 0) ? 0.0 : (double) this.quantidade / ocupadas));
+        relatorio.append("Histograma (tamanho da lista: posições)");
+        for (int tamanho = 0; tamanho <= maiorLista; tamanho++)
+            relatorio.append("\n").append(tamanho).append(": ").append(histograma[tamanho]);
+
+        return relatorio.toString();
+    }
 }
 
 class Lista<E> implements Iterable<E> {
@@ -561,6 +1360,11 @@ class Lista<E> implements Iterable<E> {
         return (this.primeiro == this.ultimo);
     }
 
+    public int tamanho() {
+
+        return this.tamanho;
+    }
+
     public void inserir(E novo, int posicao) {
 
         Celula<E> anterior, novaCelula, proximaCelula;
@@ -900,12 +1704,331 @@ class BST<E extends Comparable<E>> {
     }
 }
 
+/**
+ * Índice de valores por data, em que a data é representada pelo seu dia epoch
+ * (quantidade de dias desde 01/01/1970, como em LocalDate.toEpochDay).
+ * Os valores ficam num vetor denso indexado por (dia - primeiroDia), que cresce
+ * nas duas direções conforme novas datas são inseridas. Como as datas de um
+ * evento olímpico ocupam um intervalo pequeno e contínuo, pesquisa e inserção
+ * são um acesso direto ao vetor, sem transformar a data em String nem calcular
+ * hashCode.
+ */
+class IndiceDatas<V> {
+
+    private static final int CAPACIDADE_INICIAL = 32;
+
+    private V[] valores; /// valores por dia; a posição i corresponde ao dia primeiroDia + i.
+    private int primeiroDia; /// dia epoch correspondente à posição 0 do vetor.
+    private int quantidade; /// quantidade de dias com valor associado.
+
+    @SuppressWarnings("unchecked")
+    public IndiceDatas() {
+        this.valores = (V[]) new Object[0];
+        this.primeiroDia = 0;
+        this.quantidade = 0;
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    /**
+     * Converte uma data nos formatos "yyyy-MM-dd" ou "dd/MM/yyyy" no seu dia
+     * epoch, lendo os dígitos diretamente da String e calculando o dia com
+     * aritmética inteira, sem criar objetos.
+     * Como no SimpleDateFormat, o dia e o mês podem ter um ou dois dígitos
+     * ("1/8/2024" ou "2024-8-1"); o ano deve ter quatro.
+     * 
+     * @param data: data a ser convertida.
+     * @return o dia epoch da data.
+     *         O método lança uma exceção caso a data não esteja em nenhum dos
+     *         formatos ou seja inválida.
+     */
+    public static int paraDiaEpoch(CharSequence data) {
+        int ano, mes, dia;
+
+        int tamanho = data.length();
+        int primeiroSeparador = fimDosDigitos(data, 0);
+        int segundoSeparador = (primeiroSeparador < tamanho) ? fimDosDigitos(data, primeiroSeparador + 1) : tamanho;
+        if (segundoSeparador >= tamanho || data.charAt(segundoSeparador) != data.charAt(primeiroSeparador)
+                || fimDosDigitos(data, segundoSeparador + 1) != tamanho)
+            throw new IllegalArgumentException("Data em formato inválido: " + data);
+
+        if (data.charAt(primeiroSeparador) == '-') {
+            ano = campo(data, 0, primeiroSeparador, 4, 4);
+            mes = campo(data, primeiroSeparador + 1, segundoSeparador, 1, 2);
+            dia = campo(data, segundoSeparador + 1, tamanho, 1, 2);
+        } else if (data.charAt(primeiroSeparador) == '/') {
+            dia = campo(data, 0, primeiroSeparador, 1, 2);
+            mes = campo(data, primeiroSeparador + 1, segundoSeparador, 1, 2);
+            ano = campo(data, segundoSeparador + 1, tamanho, 4, 4);
+        } else {
+            throw new IllegalArgumentException("Data em formato inválido: " + data);
+        }
+
+        if (mes < 1 || mes > 12 || dia < 1 || dia > diasNoMes(ano, mes))
+            throw new IllegalArgumentException("Data inexistente: " + data);
+
+        // anos contados a partir de março, para que 29/02 seja o último dia do
+        // ano e os dias até o início de cada mês sejam (153 * mes + 2) / 5
+        int anoMarco = (mes <= 2) ? ano - 1 : ano;
+        int era = Math.floorDiv(anoMarco, 400);
+        int anoDaEra = anoMarco - era * 400;
+        int diaDoAno = (153 * ((mes + 9) % 12) + 2) / 5 + dia - 1;
+        int diaDaEra = anoDaEra * 365 + anoDaEra / 4 - anoDaEra / 100 + diaDoAno;
+        return era * 146_097 + diaDaEra - 719_468;
+    }
+
+    private static int diasNoMes(int ano, int mes) {
+        if (mes == 2)
+            return ((ano % 4 == 0 && ano % 100 != 0) || ano % 400 == 0) ? 29 : 28;
+        return (mes == 4 || mes == 6 || mes == 9 || mes == 11) ? 30 : 31;
+    }
+
+    /** Posição do primeiro caractere que não é dígito a partir de inicio, ou o tamanho do texto */
+    private static int fimDosDigitos(CharSequence texto, int inicio) {
+        int i = inicio;
+        while (i < texto.length() && texto.charAt(i) >= '0' && texto.charAt(i) <= '9')
+            i++;
+        return i;
+    }
+
+    /**
+     * Valor dos dígitos em texto[inicio..fim-1], que devem ser de
+     * minimoDigitos até maximoDigitos.
+     */
+    private static int campo(CharSequence texto, int inicio, int fim, int minimoDigitos, int maximoDigitos) {
+        if (fim - inicio < minimoDigitos || fim - inicio > maximoDigitos)
+            throw new IllegalArgumentException("Data em formato inválido: " + texto);
+        int valor = 0;
+        for (int i = inicio; i < fim; i++)
+            valor = valor * 10 + (texto.charAt(i) - '0');
+        return valor;
+    }
+
+    /**
+     * Retorna os dias epoch que têm valor associado, em ordem crescente.
+     */
+    public Lista<Integer> dias() {
+        Lista<Integer> dias = new Lista<>();
+        for (int i = 0; i < valores.length; i++)
+            if (valores[i] != null)
+                dias.inserirFinal(primeiroDia + i);
+        return dias;
+    }
+
+    /**
+     * Associa um valor a um dia, substituindo o valor anterior, se houver.
+     * 
+     * @param diaEpoch: dia epoch da data.
+     * @param valor:    valor a ser associado à data.
+     */
+    public void inserir(int diaEpoch, V valor) {
+        if (valor == null)
+            throw new IllegalArgumentException("Não é permitido inserir um valor nulo no índice.");
+
+        garantirPosicao(diaEpoch);
+
+        int posicao = diaEpoch - primeiroDia;
+        if (valores[posicao] == null)
+            quantidade++;
+        valores[posicao] = valor;
+    }
+
+    /**
+     * Retorna o valor associado ao dia, ou null caso não haja nenhum.
+     * 
+     * @param diaEpoch: dia epoch da data pesquisada.
+     */
+    public V pesquisar(int diaEpoch) {
+        int posicao = diaEpoch - primeiroDia;
+        if (posicao < 0 || posicao >= valores.length)
+            return null;
+        return valores[posicao];
+    }
+
+    /**
+     * Remove e retorna o valor associado ao dia.
+     * O método lança uma exceção caso não haja valor para o dia informado.
+     * 
+     * @param diaEpoch: dia epoch da data.
+     */
+    public V remover(int diaEpoch) {
+        V removido = pesquisar(diaEpoch);
+        if (removido == null)
+            throw new NoSuchElementException("Item não encontrado!");
+
+        valores[diaEpoch - primeiroDia] = null;
+        quantidade--;
+        return removido;
+    }
+
+    /**
+     * Amplia o vetor, se necessário, para que o dia informado tenha uma posição.
+     * O vetor ao menos dobra de tamanho a cada ampliação, deixando folga do lado
+     * em que cresceu.
+     */
+    @SuppressWarnings("unchecked")
+    private void garantirPosicao(int diaEpoch) {
+        if (valores.length == 0) {
+            valores = (V[]) new Object[CAPACIDADE_INICIAL];
+            primeiroDia = diaEpoch - CAPACIDADE_INICIAL / 2;
+            return;
+        }
+
+        int ultimoDia = primeiroDia + valores.length - 1;
+        if (diaEpoch >= primeiroDia && diaEpoch <= ultimoDia)
+            return;
+
+        int novoTamanho = Math.max(valores.length * 2, (int) Math.max((long) ultimoDia, diaEpoch)
+                - Math.min(primeiroDia, diaEpoch) + 1);
+        int novoPrimeiroDia = (diaEpoch < primeiroDia) ? ultimoDia - novoTamanho + 1 : primeiroDia;
+
+        V[] novos = (V[]) new Object[novoTamanho];
+        System.arraycopy(valores, 0, novos, primeiroDia - novoPrimeiroDia, valores.length);
+        valores = novos;
+        primeiroDia = novoPrimeiroDia;
+    }
+}
+
+/**
+ * Tabela hash com endereçamento em separado protegida por um único bloqueio
+ * global. Serve de referência para comparar a vazão da TabelaHashConcorrente.
+ */
+class TabelaHashSincronizada<K, V> implements ITabelaHash<K, V> {
+
+    private final TabelaHash<K, V> tabela;
+
+    public TabelaHashSincronizada(int capacidade) {
+        this.tabela = new TabelaHash<>(capacidade, new HashMisturado<>());
+    }
+
+    @Override
+    public synchronized void inserir(K chave, V valor) {
+        tabela.inserir(chave, valor);
+    }
+
+    @Override
+    public synchronized V pesquisar(K chave) {
+        return tabela.pesquisar(chave);
+    }
+
+    @Override
+    public synchronized V remover(K chave) {
+        return tabela.remover(chave);
+    }
+
+    @Override
+    public synchronized Lista<K> chaves() {
+        return tabela.chaves();
+    }
+
+    @Override
+    public synchronized int tamanho() {
+        return tabela.tamanho();
+    }
+}
+
+/**
+ * Teste de carga e medição de vazão das tabelas hash compartilhadas entre
+ * threads.
+ * Cada thread é dona das chaves k tais que k % quantidadeThreads == id: ela
+ * pesquisa qualquer chave, mas só insere chaves suas ausentes e só remove
+ * chaves suas presentes. Ao final, o conteúdo da tabela é conferido com o
+ * registro de presença mantido por cada thread.
+ *
+ * Uso, depois de compilar Aplicacao.java:
+ * java BenchmarkHashConcorrente [operacoesPorThread] [maximoThreads]
+ */
+class BenchmarkHashConcorrente {
+
+    private static final int QUANTIDADE_CHAVES = 1 << 16;
+    /// percentual de pesquisas; o restante é dividido entre inserções e remoções
+    private static final int PERCENTUAL_PESQUISAS = 90;
+
+    public static void main(String[] args) throws InterruptedException {
+        int operacoesPorThread = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        int maxThreads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Threads\tBloqueio global (ops/ms)\tListras (ops/ms)");
+        for (int threads = 1; threads <= maxThreads; threads = (threads < maxThreads) ? Math.min(threads * 2, maxThreads)
+                : threads + 1) {
+            double global = executar(new TabelaHashSincronizada<>(16), threads, operacoesPorThread);
+            double listras = executar(new TabelaHashConcorrente<>(16), threads, operacoesPorThread);
+            System.out.printf("%d\t%.1f\t%.1f%n", threads, global, listras);
+        }
+    }
+
+    private static double executar(ITabelaHash<Integer, Integer> tabela, int quantidadeThreads, int operacoes)
+            throws InterruptedException {
+
+        boolean[][] presentes = new boolean[quantidadeThreads][QUANTIDADE_CHAVES];
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] threads = new Thread[quantidadeThreads];
+
+        for (int t = 0; t < quantidadeThreads; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                Random aleatorio = new Random(id);
+                boolean[] minhas = presentes[id];
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < operacoes; i++) {
+                    int chave = aleatorio.nextInt(QUANTIDADE_CHAVES);
+                    if (aleatorio.nextInt(100) < PERCENTUAL_PESQUISAS || chave % quantidadeThreads != id) {
+                        Integer valor = tabela.pesquisar(chave);
+                        if (valor != null && valor != chave)
+                            throw new IllegalStateException("Valor incorreto para a chave " + chave);
+                    } else if (minhas[chave]) {
+                        tabela.remover(chave);
+                        minhas[chave] = false;
+                    } else {
+                        tabela.inserir(chave, chave);
+                        minhas[chave] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Thread thread : threads)
+            thread.join();
+        double tempo = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        conferir(tabela, presentes, quantidadeThreads);
+        return (double) quantidadeThreads * operacoes / tempo;
+    }
+
+    private static void conferir(ITabelaHash<Integer, Integer> tabela, boolean[][] presentes, int quantidadeThreads) {
+        int esperado = 0;
+        for (int chave = 0; chave < QUANTIDADE_CHAVES; chave++) {
+            boolean presente = presentes[chave % quantidadeThreads][chave];
+            Integer valor = tabela.pesquisar(chave);
+            if (presente != (valor != null))
+                throw new IllegalStateException("Conteúdo divergente para a chave " + chave);
+            if (presente)
+                esperado++;
+        }
+
+        int chaves = 0;
+        for (Integer chave : tabela.chaves())
+            chaves++;
+
+        if (tabela.tamanho() != esperado || chaves != esperado)
+            throw new IllegalStateException("Quantidade divergente: esperado " + esperado + ", tamanho "
+                    + tabela.tamanho() + ", chaves " + chaves);
+    }
+}
+
 public class Aplicacao {
     public static void main(String[] args) {
-        TabelaHash<String, BST<Evento>> tabelaHash = new TabelaHash<>(15);
-
-        SimpleDateFormat formatoEntrada = new SimpleDateFormat("yyyy-MM-dd");
-        SimpleDateFormat formatoEntradaOriginal = new SimpleDateFormat("dd/MM/yyyy");
+        IndiceDatas<BST<Evento>> eventosPorData = new IndiceDatas<>();
 
         try (BufferedReader br = new BufferedReader(new FileReader("/tmp/medallists.csv"))) {
             String linha = br.readLine();
@@ -915,23 +2038,17 @@ public class Aplicacao {
                 String data = campos[2].trim();
 
                 try {
-                    Date dataObj;
-                    if (data.matches("\\d{4}-\\d{2}-\\d{2}")) {
-                        dataObj = formatoEntrada.parse(data);
-                    } else {
-                        dataObj = formatoEntradaOriginal.parse(data);
-                    }
-                    String dataFormatada = formatoEntrada.format(dataObj);
+                    int diaEpoch = IndiceDatas.paraDiaEpoch(data);
 
                     String esporte = campos[6].trim();
                     String nomeEvento = campos[7].trim();
 
                     Evento evento = new Evento(esporte, nomeEvento);
 
-                    BST<Evento> eventosDoDia = tabelaHash.pesquisar(dataFormatada);
+                    BST<Evento> eventosDoDia = eventosPorData.pesquisar(diaEpoch);
                     if (eventosDoDia == null) {
                         eventosDoDia = new BST<>();
-                        tabelaHash.inserir(dataFormatada, eventosDoDia);
+                        eventosPorData.inserir(diaEpoch, eventosDoDia);
                     }
 
                     eventosDoDia.add(evento);
@@ -952,17 +2069,14 @@ public class Aplicacao {
                 break;
             }
 
-            try {
-                Date dataObj;
-                if (linha.matches("\\d{4}-\\d{2}-\\d{2}")) {
-                    dataObj = formatoEntrada.parse(linha);
-                } else {
-
-                    dataObj = formatoEntradaOriginal.parse(linha);
-                }
-                String dataFormatada = formatoEntrada.format(dataObj);
+            if (linha.equals("ESTATISTICAS")) {
+                System.out.println(tabelaPorData(eventosPorData).estatisticasColisoes());
+                System.out.println();
+                continue;
+            }
 
-                BST<Evento> eventos = tabelaHash.pesquisar(dataFormatada);
+            try {
+                BST<Evento> eventos = eventosPorData.pesquisar(IndiceDatas.paraDiaEpoch(linha));
                 if (eventos != null) {
                     System.out.println("Eventos do dia " + linha);
                     Lista<Evento> emOrdem = eventos.emOrdem();
@@ -982,4 +2096,17 @@ public class Aplicacao {
         }
         sc.close();
     }
+
+    /**
+     * Monta, com os dias do índice, a tabela hash com chaves "yyyy-MM-dd" que
+     * a aplicação usava antes do IndiceDatas, para que o comando ESTATISTICAS
+     * continue mostrando as colisões que essas chaves produzem. O índice em si
+     * não tem colisões: cada dia ocupa a sua própria posição.
+     */
+    private static TabelaHash<String, BST<Evento>> tabelaPorData(IndiceDatas<BST<Evento>> eventosPorData) {
+        TabelaHash<String, BST<Evento>> tabelaHash = new TabelaHash<>(16, new HashMisturado<>());
+        for (Integer dia : eventosPorData.dias())
+            tabelaHash.inserir(LocalDate.ofEpochDay(dia).toString(), eventosPorData.pesquisar(dia));
+        return tabelaHash;
+    }
 }
@@ -1,19 +1,40 @@
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Scanner;
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.util.HashSet;
 import java.util.Set;
-
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
 
 /**
  * Classe Medalhista: representa um medalhista olímpico e sua coleção de
@@ -68,6 +89,18 @@ class Medalhista implements Comparable<Medalhista> {
         return medalCount;
     }
 
+    /**
+     * Inclui, na ordem em que foram obtidas, as medalhas de outro registro do
+     * mesmo atleta (por exemplo, o lido em outro trecho do arquivo).
+     * 
+     * @param outro Registro do mesmo atleta cujas medalhas serão incluídas.
+     */
+    public void incluirMedalhasDe(Medalhista outro) {
+        for (int i = 0; i < outro.medalCount; i++) {
+            incluirMedalha(outro.medals[i]);
+        }
+    }
+
     /**
      * Total de medalhas do atleta. É um número maior ou igual a 0.
      * 
@@ -226,6 +259,18 @@ class Medalha {
         return metalType;
     }
 
+    public LocalDate getData() {
+        return medalDate;
+    }
+
+    public String getDisciplina() {
+        return discipline;
+    }
+
+    public String getEvento() {
+        return event;
+    }
+
     /**
      * Retorna uma string com o "relatório" da medalha de acordo com o especificado
      * no enunciado do problema.
@@ -241,11 +286,31 @@ class Medalha {
 
 class Pais implements Comparable<Pais> {
     private String nome;
-    private Medalhista[] medalhistas;
+    /**
+     * Medalhistas do país, sem repetição e na ordem de inclusão. Cada atleta tem
+     * um único registro Medalhista, então a comparação é por identidade.
+     */
+    private Set<Medalhista> medalhistas;
+    /** Quantidade de medalhas do país de cada tipo, indexada pelo ordinal de TipoMedalha */
+    private int[] medalhasPorTipo;
 
     public Pais(String nome) {
         this.nome = nome;
-        this.medalhistas = new Medalhista[1000];
+        this.medalhistas = new LinkedHashSet<>();
+        this.medalhasPorTipo = new int[TipoMedalha.values().length];
+    }
+
+    /**
+     * Cria um país cujas quantidades de medalhas já são conhecidas (por exemplo,
+     * lidas de uma cópia binária); os medalhistas são incluídos depois com
+     * incluirMedalhista.
+     * 
+     * @param medalhasPorTipo Quantidade de medalhas de cada tipo, na ordem de
+     *                        TipoMedalha.
+     */
+    public Pais(String nome, int[] medalhasPorTipo) {
+        this(nome);
+        System.arraycopy(medalhasPorTipo, 0, this.medalhasPorTipo, 0, this.medalhasPorTipo.length);
     }
 
     public String getNome() {
@@ -256,34 +321,61 @@ class Pais implements Comparable<Pais> {
         this.nome = nome;
     }
 
-    public void incluirMedalha(Medalhista medalhista) {
-        for (int i = 0; i < medalhistas.length; i++) {
-            if (medalhistas[i] == null) {
-                medalhistas[i] = medalhista;
-                return;
-            }
+    /** Medalhistas do país, na ordem em que foram incluídos */
+    public Medalhista[] getMedalhistas() {
+        return medalhistas.toArray(new Medalhista[0]);
+    }
+
+    /** Quantidade de medalhas do país de cada tipo, na ordem de TipoMedalha */
+    public int[] getMedalhasPorTipo() {
+        return medalhasPorTipo.clone();
+    }
+
+    /**
+     * Registra uma medalha do país, obtida pelo medalhista informado. As
+     * contagens por tipo são atualizadas aqui, para que totalDeMedalhas não
+     * precise percorrer os medalhistas.
+     * 
+     * @param medalhista Medalhista que obteve a medalha.
+     * @param tipo       Tipo da medalha obtida.
+     */
+    public void incluirMedalha(Medalhista medalhista, TipoMedalha tipo) {
+        incluirMedalhista(medalhista);
+        medalhasPorTipo[tipo.ordinal()]++;
+    }
+
+    /**
+     * Inclui o medalhista no país, sem alterar as contagens de medalhas. Um
+     * medalhista já incluído não é incluído de novo.
+     */
+    public void incluirMedalhista(Medalhista medalhista) {
+        medalhistas.add(medalhista);
+    }
+
+    /**
+     * Inclui, na mesma ordem, os medalhistas de outro registro do mesmo país,
+     * substituindo cada um pelo registro de mesmo nome do mapa informado, e soma
+     * as suas medalhas às deste.
+     */
+    public void incluirMedalhistasDe(Pais outro, Map<String, Medalhista> medalhistasPorNome) {
+        for (Medalhista medalhista : outro.medalhistas) {
+            incluirMedalhista(medalhistasPorNome.get(medalhista.getName()));
+        }
+        for (int i = 0; i < medalhasPorTipo.length; i++) {
+            medalhasPorTipo[i] += outro.medalhasPorTipo[i];
         }
-        System.out.println("Limite de medalhistas atingido para o país: " + nome);
     }
 
     public int totalDeMedalhas() {
         int totalMedalhas = 0;
-        for (Medalhista medalhista : medalhistas) {
-            if (medalhista != null) {
-                totalMedalhas += medalhista.totalMedalhas();
-            }
+        for (int quantidade : medalhasPorTipo) {
+            totalMedalhas += quantidade;
         }
         return totalMedalhas;
     }
 
     public int totalDeMedalhas(TipoMedalha tipo) {
-        int total = 0;
-        for (Medalhista medalhista : medalhistas) {
-            if (medalhista != null) {
-                total += medalhista.totalDeMedalhas(tipo);
-            }
-        }
-        return total;
+        return medalhasPorTipo[tipo.ordinal()];
     }
 
     public int compareTo(Pais outro) {
@@ -293,17 +385,14 @@ class Pais implements Comparable<Pais> {
     public String relatorioMedalhistas() {
         StringBuilder relatorio = new StringBuilder("Medalhistas do país: " + nome + "\n");
         for (Medalhista medalhista : medalhistas) {
-            if (medalhista != null) {
-                relatorio.append(medalhista.toString()).append("\n");
-            }
+            relatorio.append(medalhista.toString()).append("\n");
         }
         return relatorio.toString().trim();
     }
 
     @Override
     public String toString() {
-        return "Pais [nome=" + nome + ", total de medalhistas="
-                + (int) Arrays.stream(medalhistas).filter(m -> m != null).count() + "]";
+        return "Pais [nome=" + nome + ", total de medalhistas=" + medalhistas.size() + "]";
     }
 }
 
@@ -331,6 +420,29 @@ class Evento {
         }
     }
 
+    /**
+     * Inclui, na mesma ordem, os medalhistas de outro registro do mesmo evento,
+     * substituindo cada um pelo registro de mesmo nome do mapa informado.
+     */
+    public void incluirMedalhistasDe(Evento outro, Map<String, Medalhista> medalhistasPorNome) {
+        for (int i = 0; i < outro.quantMedalhistas; i++) {
+            incluirMedalhista(medalhistasPorNome.get(outro.medallists[i].getName()));
+        }
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public String getDiscipline() {
+        return discipline;
+    }
+
+    /** Medalhistas do evento, na ordem em que foram incluídos */
+    public Medalhista[] getMedalhistas() {
+        return Arrays.copyOf(medallists, quantMedalhistas);
+    }
+
     public int compareTo(Evento outroEvento) {
         return Integer.compare(outroEvento.quantMedalhistas, this.quantMedalhistas);
     }
@@ -436,106 +548,1495 @@ interface IOrdenator<T> {
     }
   }
 
-public class Aplicacao {
-    public static void main(String[] args) {
-        Map<String, Pais> paisesMap = carregarPaises("/tmp/medallists.csv");
-        Scanner leitura = new Scanner(System.in);
-        
-        int numPaises = Integer.parseInt(leitura.nextLine());
-    
-        Pais[] paisesOrdenar = new Pais[numPaises];
-        for (int i = 0; i < numPaises; i++) {
-            String nomePais = leitura.nextLine();
-            Pais pais = paisesMap.get(nomePais);
-            if (pais == null) {
-                i--;
-                continue;
+/**
+ * Dados carregados do arquivo de medalhistas: os medalhistas e os países,
+ * indexados pelo nome, e os eventos, indexados por "disciplina/evento" (há
+ * eventos de mesmo nome, como "Men", em disciplinas diferentes).
+ */
+class CargaMedalhistas {
+    private final Map<String, Medalhista> medalhistas = new HashMap<>();
+    private final Map<String, Pais> paises = new HashMap<>();
+    private final Map<String, Evento> eventos = new HashMap<>();
+    /**
+     * Instâncias canônicas das colunas com poucos valores distintos. Cada trecho
+     * lido em paralelo tem os seus dicionários, então um mesmo texto tem no
+     * máximo uma instância por trecho.
+     */
+    private final Dicionario paisesCanonicos = new Dicionario();
+    private final Dicionario disciplinas = new Dicionario();
+    private final Dicionario nomesEventos = new Dicionario();
+    private final Dicionario generos = new Dicionario();
+
+    public Map<String, Medalhista> getMedalhistas() {
+        return medalhistas;
+    }
+
+    public Map<String, Pais> getPaises() {
+        return paises;
+    }
+
+    public Map<String, Evento> getEventos() {
+        return eventos;
+    }
+
+    /**
+     * Inclui os dados da linha atual do leitor. Só viram String os campos que
+     * ficam guardados nos objetos, e os dados pessoais apenas na primeira
+     * medalha de cada atleta. País, disciplina, evento e gênero são buscados nos
+     * dicionários diretamente pelas visões dos campos, sem criar Strings.
+     */
+    public void incluirLinha(LeitorCSV leitor) {
+        String nome = leitor.texto(0);
+        String paisNome = paisesCanonicos.canonico(leitor.campo(5));
+
+        TipoMedalha tipoMedalha = tipoMedalha(leitor);
+        LocalDate dataMedalha = ConversorData.paraLocalDate(leitor.campo(2));
+        String disciplina = disciplinas.canonico(leitor.campo(6));
+        String eventoNome = nomesEventos.canonico(leitor.campo(7));
+
+        Medalhista medalhista = medalhistas.get(nome);
+        if (medalhista == null) {
+            String genero = generos.canonico(leitor.campo(3));
+            LocalDate nascimento = ConversorData.paraLocalDate(leitor.campo(4));
+            medalhista = new Medalhista(nome, genero, nascimento, paisNome);
+            medalhistas.put(nome, medalhista);
+        }
+
+        Medalha medalha = new Medalha(tipoMedalha, dataMedalha, disciplina, eventoNome);
+        medalhista.incluirMedalha(medalha);
+
+        Pais pais = paises.get(paisNome);
+        if (pais == null) {
+            pais = new Pais(paisNome);
+            paises.put(paisNome, pais);
+        }
+        pais.incluirMedalha(medalhista, tipoMedalha);
+
+        String chaveEvento = chaveEvento(disciplina, eventoNome);
+        Evento evento = eventos.get(chaveEvento);
+        if (evento == null) {
+            evento = new Evento(eventoNome, disciplina);
+            eventos.put(chaveEvento, evento);
+        }
+        evento.incluirMedalhista(medalhista);
+    }
+
+    /** Chave de um evento no mapa de eventos */
+    public static String chaveEvento(String disciplina, String evento) {
+        return disciplina + "/" + evento;
+    }
+
+    /** Converte o campo do tipo de medalha da linha atual sem criar uma String */
+    private static TipoMedalha tipoMedalha(LeitorCSV leitor) {
+        for (TipoMedalha tipo : TipoMedalha.values()) {
+            if (leitor.igual(1, tipo.name())) {
+                return tipo;
             }
-            paisesOrdenar[i] = pais;
         }
-        leitura.close();
-    
-        Quicksort<Pais> quicksort = new Quicksort<>(paisesOrdenar);
-        quicksort.setComparador(new Comparator<Pais>() {
-            @Override
-            public int compare(Pais p1, Pais p2) {
-                int comparacaoOuros = Integer.compare(p2.totalDeMedalhas(TipoMedalha.OURO), p1.totalDeMedalhas(TipoMedalha.OURO));
-                if (comparacaoOuros != 0) {
-                    return comparacaoOuros;
+        throw new IllegalArgumentException("Tipo de medalha inválido: " + leitor.texto(1));
+    }
+
+    /**
+     * Incorpora os dados de um trecho do arquivo posterior ao desta carga. O
+     * resultado é o mesmo de ter lido os dois trechos em sequência: cada atleta
+     * fica com um único registro, com as medalhas na ordem do arquivo, e os
+     * países e eventos passam a apontar para esse registro.
+     *
+     * @param posterior Carga do trecho seguinte do arquivo; não deve ser usada
+     *                  depois desta chamada.
+     */
+    public void incorporar(CargaMedalhistas posterior) {
+        for (Medalhista parcial : posterior.medalhistas.values()) {
+            Medalhista existente = medalhistas.putIfAbsent(parcial.getName(), parcial);
+            if (existente != null) {
+                existente.incluirMedalhasDe(parcial);
+            }
+        }
+        for (Map.Entry<String, Pais> entrada : posterior.paises.entrySet()) {
+            Pais pais = paises.computeIfAbsent(entrada.getKey(), Pais::new);
+            pais.incluirMedalhistasDe(entrada.getValue(), medalhistas);
+        }
+        for (Map.Entry<String, Evento> entrada : posterior.eventos.entrySet()) {
+            Evento parcial = entrada.getValue();
+            Evento evento = eventos.computeIfAbsent(entrada.getKey(),
+                    chave -> new Evento(parcial.getEvent(), parcial.getDiscipline()));
+            evento.incluirMedalhistasDe(parcial, medalhistas);
+        }
+    }
+}
+
+/**
+ * Carga do arquivo de medalhistas em paralelo: o arquivo é dividido em trechos
+ * que começam no início de uma linha, cada trecho é lido por uma tarefa de um
+ * ForkJoinPool e as cargas parciais são incorporadas, duas a duas, na ordem do
+ * arquivo. Arquivos pequenos são lidos numa única tarefa.
+ */
+class CarregadorParalelo {
+    /** Tamanho mínimo de um trecho, para que a divisão compense */
+    private static final long TAMANHO_MINIMO_TRECHO = 1L << 20;
+    /** Trechos por thread, para equilibrar trechos mais lentos que outros */
+    private static final int TRECHOS_POR_THREAD = 4;
+
+    public static CargaMedalhistas carregar(String caminho) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long tamanho = Files.size(Path.of(caminho));
+        long porTamanho = Math.max(1, tamanho / TAMANHO_MINIMO_TRECHO);
+        int quantidadeTrechos = (int) Math.min(porTamanho, (long) pool.getParallelism() * TRECHOS_POR_THREAD);
+        return carregar(caminho, pool, quantidadeTrechos);
+    }
+
+    /**
+     * Carrega o arquivo dividido na quantidade informada de trechos, usando o
+     * pool informado.
+     */
+    public static CargaMedalhistas carregar(String caminho, ForkJoinPool pool, int quantidadeTrechos)
+            throws IOException {
+        long[] limites = LeitorCSV.dividirEmLinhas(caminho, quantidadeTrechos);
+        try {
+            return pool.invoke(new TarefaCarga(caminho, limites, 0, limites.length - 1));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Carrega os trechos de primeiro (inclusive) a ultimo (exclusive) */
+    private static class TarefaCarga extends RecursiveTask<CargaMedalhistas> {
+        private static final long serialVersionUID = 1L;
+
+        private final String caminho;
+        private final long[] limites;
+        private final int primeiro;
+        private final int ultimo;
+
+        TarefaCarga(String caminho, long[] limites, int primeiro, int ultimo) {
+            this.caminho = caminho;
+            this.limites = limites;
+            this.primeiro = primeiro;
+            this.ultimo = ultimo;
+        }
+
+        @Override
+        protected CargaMedalhistas compute() {
+            if (ultimo - primeiro == 1) {
+                return carregarTrecho();
+            }
+            int meio = (primeiro + ultimo) >>> 1;
+            TarefaCarga anteriores = new TarefaCarga(caminho, limites, primeiro, meio);
+            TarefaCarga posteriores = new TarefaCarga(caminho, limites, meio, ultimo);
+            posteriores.fork();
+            CargaMedalhistas carga = anteriores.compute();
+            carga.incorporar(posteriores.join());
+            return carga;
+        }
+
+        private CargaMedalhistas carregarTrecho() {
+            CargaMedalhistas carga = new CargaMedalhistas();
+            long inicio = limites[primeiro];
+            try (LeitorCSV leitor = new LeitorCSV(caminho, inicio, limites[ultimo])) {
+                if (inicio == 0) {
+                    leitor.proximaLinha(); // cabeçalho
                 }
-                
-                int comparacaoPratas = Integer.compare(p2.totalDeMedalhas(TipoMedalha.PRATA), p1.totalDeMedalhas(TipoMedalha.PRATA));
-                if (comparacaoPratas != 0) {
-                    return comparacaoPratas;
+                while (leitor.proximaLinha()) {
+                    carga.incluirLinha(leitor);
                 }
-                
-                return Integer.compare(p2.totalDeMedalhas(TipoMedalha.BRONZE), p1.totalDeMedalhas(TipoMedalha.BRONZE)); // Ordena por bronze
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        });
-        quicksort.ordenar();
-    
-        for (Pais pais : paisesOrdenar) {
-            if (pais != null) {
-                int totalOuros = pais.totalDeMedalhas(TipoMedalha.OURO);
-                int totalPratas = pais.totalDeMedalhas(TipoMedalha.PRATA);
-                int totalBronzes = pais.totalDeMedalhas(TipoMedalha.BRONZE);
-                int totalMedalhas = totalOuros + totalPratas + totalBronzes;
-    
-                System.out.printf("%s: %02d ouros %02d pratas %02d bronzes. Total: %02d medalhas.%n",
-                                  pais.getNome(), totalOuros, totalPratas, totalBronzes, totalMedalhas);
+            return carga;
+        }
+    }
+}
+
+/**
+ * Cópia binária dos dados carregados do arquivo de medalhistas, para que as
+ * execuções seguintes não precisem ler e converter o CSV de novo.
+ *
+ * Formato (inteiros em big-endian):
+ *
+ * <pre>
+ * cabeçalho: int ASSINATURA, int VERSAO, long tamanho do CSV, long data de
+ *            modificação do CSV (ms)
+ * textos:    int n; n x (int bytes, UTF-8)
+ * atletas:   int n; n x (int nome, int gênero, int nascimento (dia epoch),
+ *            int país, int medalhas; medalhas x (byte tipo (ordinal),
+ *            int data (dia epoch), int disciplina, int evento))
+ * países:    int n; n x (int nome, int medalhas de cada tipo (na ordem de
+ *            TipoMedalha), int k; k x int atleta)
+ * eventos:   int n; n x (int evento, int disciplina, int k; k x int atleta)
+ * </pre>
+ *
+ * Os textos são guardados uma única vez e referenciados pela sua posição na
+ * tabela; os atletas, pela sua posição na seção de atletas. A cópia só é
+ * aceita se a versão for a atual e o CSV tiver o mesmo tamanho e a mesma data
+ * de modificação registrados no cabeçalho. Cada quantidade lida é conferida
+ * com os bytes que ainda restam antes de qualquer alocação, de modo que uma
+ * cópia corrompida é descartada em vez de esgotar a memória.
+ */
+class SnapshotMedalhistas {
+    private static final int ASSINATURA = 0x4D45444C; // "MEDL"
+    private static final int VERSAO = 2;
+
+    /** Menor quantidade de bytes ocupada por um item de cada seção, sem contar os textos */
+    private static final int BYTES_TEXTO = 4;
+    private static final int BYTES_ATLETA = 5 * 4;
+    private static final int BYTES_MEDALHA = 1 + 3 * 4;
+    private static final int BYTES_PAIS = 4 + TipoMedalha.values().length * 4 + 4;
+    private static final int BYTES_EVENTO = 3 * 4;
+    private static final int BYTES_REFERENCIA = 4;
+
+    /**
+     * Carrega os dados do CSV usando a cópia binária, se ela estiver válida; caso
+     * contrário, lê o CSV e grava uma nova cópia para as próximas execuções.
+     */
+    public static CargaMedalhistas carregarOuCriar(String caminhoCsv, String caminhoSnapshot) throws IOException {
+        CargaMedalhistas carga = carregar(caminhoCsv, caminhoSnapshot);
+        if (carga == null) {
+            carga = CarregadorParalelo.carregar(caminhoCsv);
+            try {
+                salvar(carga, caminhoCsv, caminhoSnapshot);
+            } catch (IOException e) {
+                // sem a cópia, a próxima execução apenas lê o CSV novamente
+                System.err.println("Não foi possível gravar a cópia binária em " + caminhoSnapshot + ": " + e);
             }
         }
-        
-        log("_quicksort.txt", quicksort);
+        return carga;
     }
 
-    private static Map<String, Pais> carregarPaises(String csvFile) {
-        Map<String, Medalhista> medalhistas = new HashMap<>();
-        Map<String, Pais> paises = new HashMap<>();
-        String line;
-        String csvSplitBy = ",";
-
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-            br.readLine();
-            while ((line = br.readLine()) != null) {
-                String[] dados = line.split(csvSplitBy);
-                String nome = dados[0];
-                String genero = dados[3];
-                LocalDate nascimento = LocalDate.parse(dados[4]);
-                String paisNome = dados[5];
-
-                TipoMedalha tipoMedalha = TipoMedalha.valueOf(dados[1]);
-                LocalDate dataMedalha = LocalDate.parse(dados[2]);
-                String disciplina = dados[6];
-                String eventoNome = dados[7];
-
-                Medalhista medalhista = medalhistas.get(nome);
-                if (medalhista == null) {
-                    medalhista = new Medalhista(nome, genero, nascimento, paisNome);
-                    medalhistas.put(nome, medalhista);
+    /**
+     * Grava a cópia binária dos dados, associada ao tamanho e à data de
+     * modificação atuais do CSV.
+     */
+    public static void salvar(CargaMedalhistas carga, String caminhoCsv, String caminhoSnapshot) throws IOException {
+        Path csv = Path.of(caminhoCsv);
+        Map<String, Integer> textos = new HashMap<>();
+        List<String> tabelaTextos = new ArrayList<>();
+        Map<Medalhista, Integer> indices = new IdentityHashMap<>();
+        Medalhista[] atletas = carga.getMedalhistas().values().toArray(new Medalhista[0]);
+
+        // a tabela de textos precisa ser escrita antes das referências a ela
+        for (int i = 0; i < atletas.length; i++) {
+            Medalhista atleta = atletas[i];
+            indices.put(atleta, i);
+            indice(textos, tabelaTextos, atleta.getName());
+            indice(textos, tabelaTextos, atleta.getGenero());
+            indice(textos, tabelaTextos, atleta.getPais());
+            for (int j = 0; j < atleta.getMedalCount(); j++) {
+                indice(textos, tabelaTextos, atleta.getMedals()[j].getDisciplina());
+                indice(textos, tabelaTextos, atleta.getMedals()[j].getEvento());
+            }
+        }
+        for (Pais pais : carga.getPaises().values()) {
+            indice(textos, tabelaTextos, pais.getNome());
+        }
+        for (Evento evento : carga.getEventos().values()) {
+            indice(textos, tabelaTextos, evento.getEvent());
+            indice(textos, tabelaTextos, evento.getDiscipline());
+        }
+
+        Path temporario = Path.of(caminhoSnapshot + ".tmp");
+        try (DataOutputStream saida = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporario.toFile())))) {
+            saida.writeInt(ASSINATURA);
+            saida.writeInt(VERSAO);
+            saida.writeLong(Files.size(csv));
+            saida.writeLong(Files.getLastModifiedTime(csv).toMillis());
+
+            saida.writeInt(tabelaTextos.size());
+            for (String texto : tabelaTextos) {
+                byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+                saida.writeInt(bytes.length);
+                saida.write(bytes);
+            }
+
+            saida.writeInt(atletas.length);
+            for (Medalhista atleta : atletas) {
+                saida.writeInt(textos.get(atleta.getName()));
+                saida.writeInt(textos.get(atleta.getGenero()));
+                saida.writeInt((int) atleta.getNascimento().toEpochDay());
+                saida.writeInt(textos.get(atleta.getPais()));
+                saida.writeInt(atleta.getMedalCount());
+                for (int j = 0; j < atleta.getMedalCount(); j++) {
+                    Medalha medalha = atleta.getMedals()[j];
+                    saida.writeByte(medalha.getTipo().ordinal());
+                    saida.writeInt((int) medalha.getData().toEpochDay());
+                    saida.writeInt(textos.get(medalha.getDisciplina()));
+                    saida.writeInt(textos.get(medalha.getEvento()));
+                }
+            }
+
+            saida.writeInt(carga.getPaises().size());
+            for (Pais pais : carga.getPaises().values()) {
+                saida.writeInt(textos.get(pais.getNome()));
+                for (int quantidade : pais.getMedalhasPorTipo()) {
+                    saida.writeInt(quantidade);
+                }
+                escreverAtletas(saida, pais.getMedalhistas(), indices);
+            }
+
+            saida.writeInt(carga.getEventos().size());
+            for (Evento evento : carga.getEventos().values()) {
+                saida.writeInt(textos.get(evento.getEvent()));
+                saida.writeInt(textos.get(evento.getDiscipline()));
+                escreverAtletas(saida, evento.getMedalhistas(), indices);
+            }
+        }
+        // a cópia só substitui a anterior depois de completamente escrita
+        Files.move(temporario, Path.of(caminhoSnapshot), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int indice(Map<String, Integer> textos, List<String> tabela, String texto) {
+        Integer indice = textos.get(texto);
+        if (indice == null) {
+            indice = tabela.size();
+            textos.put(texto, indice);
+            tabela.add(texto);
+        }
+        return indice;
+    }
+
+    private static void escreverAtletas(DataOutputStream saida, Medalhista[] atletas, Map<Medalhista, Integer> indices)
+            throws IOException {
+        saida.writeInt(atletas.length);
+        for (Medalhista atleta : atletas) {
+            saida.writeInt(indices.get(atleta));
+        }
+    }
+
+    /**
+     * Lê a cópia binária, mapeando-a em memória.
+     *
+     * @return Os dados carregados, ou null se a cópia não existir, for de outra
+     *         versão, estiver corrompida ou não corresponder ao CSV atual.
+     */
+    public static CargaMedalhistas carregar(String caminhoCsv, String caminhoSnapshot) throws IOException {
+        Path csv = Path.of(caminhoCsv);
+        MappedByteBuffer dados;
+        try (FileChannel canal = FileChannel.open(Path.of(caminhoSnapshot), StandardOpenOption.READ)) {
+            dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        try {
+            if (dados.getInt() != ASSINATURA || dados.getInt() != VERSAO
+                    || dados.getLong() != Files.size(csv)
+                    || dados.getLong() != Files.getLastModifiedTime(csv).toMillis()) {
+                return null;
+            }
+
+            String[] textos = new String[quantidade(dados, BYTES_TEXTO)];
+            byte[] bytes = new byte[64];
+            for (int i = 0; i < textos.length; i++) {
+                int tamanho = quantidade(dados, 1);
+                if (tamanho > bytes.length) {
+                    bytes = new byte[tamanho];
                 }
+                dados.get(bytes, 0, tamanho);
+                textos[i] = new String(bytes, 0, tamanho, StandardCharsets.UTF_8);
+            }
 
-                Medalha medalha = new Medalha(tipoMedalha, dataMedalha, disciplina, eventoNome);
-                medalhista.incluirMedalha(medalha);
+            CargaMedalhistas carga = new CargaMedalhistas();
+            TipoMedalha[] tipos = TipoMedalha.values();
+            Medalhista[] atletas = new Medalhista[quantidade(dados, BYTES_ATLETA)];
+            for (int i = 0; i < atletas.length; i++) {
+                String nome = textos[dados.getInt()];
+                String genero = textos[dados.getInt()];
+                LocalDate nascimento = LocalDate.ofEpochDay(dados.getInt());
+                Medalhista atleta = new Medalhista(nome, genero, nascimento, textos[dados.getInt()]);
+                int medalhas = quantidade(dados, BYTES_MEDALHA);
+                for (int j = 0; j < medalhas; j++) {
+                    TipoMedalha tipo = tipos[dados.get()];
+                    LocalDate data = LocalDate.ofEpochDay(dados.getInt());
+                    atleta.incluirMedalha(new Medalha(tipo, data, textos[dados.getInt()], textos[dados.getInt()]));
+                }
+                atletas[i] = atleta;
+                carga.getMedalhistas().put(nome, atleta);
+            }
 
-                Pais pais = paises.get(paisNome);
-                if (pais == null) {
-                    pais = new Pais(paisNome);
-                    paises.put(paisNome, pais);
+            int quantidadePaises = quantidade(dados, BYTES_PAIS);
+            for (int i = 0; i < quantidadePaises; i++) {
+                String nome = textos[dados.getInt()];
+                int[] medalhasPorTipo = new int[tipos.length];
+                for (int j = 0; j < medalhasPorTipo.length; j++) {
+                    medalhasPorTipo[j] = dados.getInt();
                 }
-                pais.incluirMedalha(medalhista);
+                Pais pais = new Pais(nome, medalhasPorTipo);
+                int quantidade = quantidade(dados, BYTES_REFERENCIA);
+                for (int j = 0; j < quantidade; j++) {
+                    pais.incluirMedalhista(atletas[dados.getInt()]);
+                }
+                carga.getPaises().put(pais.getNome(), pais);
             }
-        } catch (FileNotFoundException e) {
-            System.out.println("Arquivo não encontrado: " + csvFile);
-            e.printStackTrace();
-        } catch (IOException e) {
-            System.out.println("Erro ao ler o arquivo: " + csvFile);
-            e.printStackTrace();
+
+            int quantidadeEventos = quantidade(dados, BYTES_EVENTO);
+            for (int i = 0; i < quantidadeEventos; i++) {
+                Evento evento = new Evento(textos[dados.getInt()], textos[dados.getInt()]);
+                int quantidade = quantidade(dados, BYTES_REFERENCIA);
+                for (int j = 0; j < quantidade; j++) {
+                    evento.incluirMedalhista(atletas[dados.getInt()]);
+                }
+                carga.getEventos().put(CargaMedalhistas.chaveEvento(evento.getDiscipline(), evento.getEvent()), evento);
+            }
+            return carga;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lê a quantidade de itens de uma seção e confere que ela é possível com os
+     * bytes que restam na cópia, sabendo que cada item ocupa ao menos
+     * bytesPorItem.
+     *
+     * @throws BufferUnderflowException se a quantidade for negativa ou maior
+     *                                  do que cabe no restante da cópia.
+     */
+    private static int quantidade(MappedByteBuffer dados, int bytesPorItem) {
+        int quantidade = dados.getInt();
+        if (quantidade < 0 || quantidade > dados.remaining() / bytesPorItem) {
+            throw new BufferUnderflowException();
+        }
+        return quantidade;
+    }
+}
+
+/**
+ * Armazenamento de todas as medalhas em colunas de tipos primitivos: a medalha
+ * i é formada por atleta[i], tipo[i], dia[i] e evento[i]. Atletas, países e
+ * eventos são representados pelos seus códigos nos respectivos dicionários, e
+ * o país de cada atleta fica em paisDoAtleta.
+ * Em vez de um objeto Medalha (com um LocalDate e Strings) por medalha, cada
+ * uma ocupa 13 bytes, e as contagens são laços sobre vetores.
+ */
+class MedalhasColunares {
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private final Dicionario atletas = new Dicionario();
+    private final Dicionario paises = new Dicionario();
+    /** Eventos identificados por "disciplina/evento", como em CargaMedalhistas */
+    private final Dicionario eventos = new Dicionario();
+
+    /** Código do país de cada atleta, indexado pelo código do atleta */
+    private int[] paisDoAtleta = new int[CAPACIDADE_INICIAL];
+
+    private int[] atleta = new int[CAPACIDADE_INICIAL];
+    /** Ordinal de TipoMedalha */
+    private byte[] tipo = new byte[CAPACIDADE_INICIAL];
+    /** Data da medalha, em dias epoch */
+    private int[] dia = new int[CAPACIDADE_INICIAL];
+    private int[] evento = new int[CAPACIDADE_INICIAL];
+    private int quantidade;
+
+    /** Carrega todas as medalhas do arquivo de medalhistas */
+    public static MedalhasColunares carregar(String caminho) throws IOException {
+        MedalhasColunares medalhas = new MedalhasColunares();
+        StringBuilder chaveEvento = new StringBuilder();
+        TipoMedalha[] tipos = TipoMedalha.values();
+        try (LeitorCSV leitor = new LeitorCSV(caminho)) {
+            leitor.proximaLinha(); // cabeçalho
+            while (leitor.proximaLinha()) {
+                int tipoMedalha = -1;
+                for (TipoMedalha t : tipos) {
+                    if (leitor.igual(1, t.name())) {
+                        tipoMedalha = t.ordinal();
+                        break;
+                    }
+                }
+                if (tipoMedalha < 0) {
+                    throw new IllegalArgumentException("Tipo de medalha inválido: " + leitor.texto(1));
+                }
+                // a chave é montada com texto(int): copiar as visões de bytes para o
+                // StringBuilder guardaria no dicionário textos com acentos corrompidos
+                chaveEvento.setLength(0);
+                chaveEvento.append(leitor.texto(6)).append('/').append(leitor.texto(7));
+                medalhas.incluir(leitor.campo(0), leitor.campo(5), (byte) tipoMedalha,
+                        ConversorData.diaEpoch(leitor.campo(2)), chaveEvento);
+            }
+        }
+        return medalhas;
+    }
+
+    /**
+     * Inclui uma medalha. O país só é registrado na primeira medalha do atleta,
+     * como no restante da aplicação.
+     */
+    public void incluir(CharSequence nomeAtleta, CharSequence pais, byte tipoMedalha, int diaEpoch,
+            CharSequence chaveEvento) {
+        int atletasAntes = atletas.tamanho();
+        int codigoAtleta = atletas.codigo(nomeAtleta);
+        if (codigoAtleta == atletasAntes) {
+            if (codigoAtleta == paisDoAtleta.length) {
+                paisDoAtleta = Arrays.copyOf(paisDoAtleta, paisDoAtleta.length * 2);
+            }
+            paisDoAtleta[codigoAtleta] = paises.codigo(pais);
         }
+        if (quantidade == atleta.length) {
+            int novoTamanho = atleta.length * 2;
+            atleta = Arrays.copyOf(atleta, novoTamanho);
+            tipo = Arrays.copyOf(tipo, novoTamanho);
+            dia = Arrays.copyOf(dia, novoTamanho);
+            evento = Arrays.copyOf(evento, novoTamanho);
+        }
+        atleta[quantidade] = codigoAtleta;
+        tipo[quantidade] = tipoMedalha;
+        dia[quantidade] = diaEpoch;
+        evento[quantidade] = eventos.codigo(chaveEvento);
+        quantidade++;
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
 
+    public Dicionario getAtletas() {
+        return atletas;
+    }
+
+    public Dicionario getPaises() {
         return paises;
     }
 
+    public Dicionario getEventos() {
+        return eventos;
+    }
+
+    /** Quantidade de medalhas do tipo informado, de todos os atletas */
+    public int totalDeMedalhas(TipoMedalha tipoMedalha) {
+        byte procurado = (byte) tipoMedalha.ordinal();
+        int total = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (tipo[i] == procurado) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Quadro de medalhas por país: a linha de cada país, indexada pelo seu
+     * código em getPaises(), tem a quantidade de medalhas de cada tipo, na
+     * ordem de TipoMedalha. Cada medalha conta uma vez.
+     */
+    public int[][] quadroDeMedalhas() {
+        int tipos = TipoMedalha.values().length;
+        int[] contagem = new int[paises.tamanho() * tipos];
+        for (int i = 0; i < quantidade; i++) {
+            contagem[paisDoAtleta[atleta[i]] * tipos + tipo[i]]++;
+        }
+        int[][] quadro = new int[paises.tamanho()][];
+        for (int p = 0; p < quadro.length; p++) {
+            quadro[p] = Arrays.copyOfRange(contagem, p * tipos, (p + 1) * tipos);
+        }
+        return quadro;
+    }
+
+    /**
+     * Códigos dos eventos com medalhas entregues no dia informado, sem
+     * repetição, na ordem em que aparecem no arquivo.
+     */
+    public int[] eventosDoDia(int diaEpoch) {
+        int[] encontrados = new int[16];
+        int quantidadeEncontrados = 0;
+        boolean[] vistos = new boolean[eventos.tamanho()];
+        for (int i = 0; i < quantidade; i++) {
+            if (dia[i] == diaEpoch && !vistos[evento[i]]) {
+                vistos[evento[i]] = true;
+                if (quantidadeEncontrados == encontrados.length) {
+                    encontrados = Arrays.copyOf(encontrados, encontrados.length * 2);
+                }
+                encontrados[quantidadeEncontrados++] = evento[i];
+            }
+        }
+        return Arrays.copyOf(encontrados, quantidadeEncontrados);
+    }
+
+    public int atleta(int medalha) {
+        validar(medalha);
+        return atleta[medalha];
+    }
+
+    public TipoMedalha tipo(int medalha) {
+        validar(medalha);
+        return TipoMedalha.values()[tipo[medalha]];
+    }
+
+    public int dia(int medalha) {
+        validar(medalha);
+        return dia[medalha];
+    }
+
+    public int evento(int medalha) {
+        validar(medalha);
+        return evento[medalha];
+    }
+
+    public int paisDoAtleta(int codigoAtleta) {
+        if (codigoAtleta < 0 || codigoAtleta >= atletas.tamanho()) {
+            throw new IndexOutOfBoundsException("Atleta inexistente: " + codigoAtleta);
+        }
+        return paisDoAtleta[codigoAtleta];
+    }
+
+    private void validar(int medalha) {
+        if (medalha < 0 || medalha >= quantidade) {
+            throw new IndexOutOfBoundsException("Medalha inexistente: " + medalha);
+        }
+    }
+}
+
+/**
+ * Confere as contagens do MedalhasColunares com as mesmas contagens refeitas
+ * sobre os objetos carregados pelo CarregadorParalelo, e compara os tempos:
+ * - total de medalhas de cada tipo;
+ * - quadro de medalhas por país;
+ * - eventos com medalhas entregues em cada dia.
+ * Os eventos de um dia são comparados como conjuntos, já que os objetos não
+ * guardam a ordem do arquivo.
+ *
+ * Uso, depois de compilar Aplicacao.java:
+ * java BenchmarkColunar [repeticoes] [arquivoCSV]
+ */
+class BenchmarkColunar {
+
+    /// resultado acumulado, para que as contagens não sejam descartadas pelo compilador
+    private static long soma;
+
+    public static void main(String[] args) throws IOException {
+        int repeticoes = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+        String csv = (args.length > 1) ? args[1] : "/tmp/medallists.csv";
+
+        MedalhasColunares colunas = MedalhasColunares.carregar(csv);
+        Collection<Medalhista> medalhistas = CarregadorParalelo.carregar(csv).getMedalhistas().values();
+        int[] dias = dias(colunas);
+        conferir(colunas, medalhistas, dias);
+        System.out.println("Conferido: " + colunas.tamanho() + " medalhas, " + colunas.getPaises().tamanho()
+                + " países, " + dias.length + " dias.");
+
+        System.out.println("Consulta\tArmazenamento\tμs/consulta");
+        for (int r = 0; r < repeticoes; r++) {
+            boolean ultima = (r == repeticoes - 1);
+
+            long inicio = System.nanoTime();
+            for (TipoMedalha tipo : TipoMedalha.values())
+                soma += colunas.totalDeMedalhas(tipo);
+            imprimir(ultima, "total por tipo", "colunas", inicio, TipoMedalha.values().length);
+
+            inicio = System.nanoTime();
+            for (TipoMedalha tipo : TipoMedalha.values())
+                soma += totalDeMedalhas(medalhistas, tipo);
+            imprimir(ultima, "total por tipo", "objetos", inicio, TipoMedalha.values().length);
+
+            inicio = System.nanoTime();
+            soma += colunas.quadroDeMedalhas().length;
+            imprimir(ultima, "quadro de medalhas", "colunas", inicio, 1);
+
+            inicio = System.nanoTime();
+            soma += quadroDeMedalhas(medalhistas).size();
+            imprimir(ultima, "quadro de medalhas", "objetos", inicio, 1);
+
+            inicio = System.nanoTime();
+            for (int dia : dias)
+                soma += colunas.eventosDoDia(dia).length;
+            imprimir(ultima, "eventos do dia", "colunas", inicio, dias.length);
+
+            inicio = System.nanoTime();
+            for (int dia : dias)
+                soma += eventosDoDia(medalhistas, dia).size();
+            imprimir(ultima, "eventos do dia", "objetos", inicio, dias.length);
+        }
+        System.out.println("(soma de conferência: " + soma + ")");
+    }
+
+    private static void conferir(MedalhasColunares colunas, Collection<Medalhista> medalhistas, int[] dias) {
+        for (TipoMedalha tipo : TipoMedalha.values()) {
+            if (colunas.totalDeMedalhas(tipo) != totalDeMedalhas(medalhistas, tipo))
+                throw new IllegalStateException("Total divergente de medalhas de " + tipo);
+        }
+
+        int[][] quadro = colunas.quadroDeMedalhas();
+        Map<String, int[]> esperado = quadroDeMedalhas(medalhistas);
+        if (quadro.length != esperado.size())
+            throw new IllegalStateException("Quantidade divergente de países no quadro de medalhas.");
+        for (int p = 0; p < quadro.length; p++) {
+            String pais = colunas.getPaises().texto(p);
+            if (!Arrays.equals(quadro[p], esperado.get(pais)))
+                throw new IllegalStateException("Quadro de medalhas divergente para " + pais);
+        }
+
+        for (int dia : dias) {
+            TreeSet<String> eventos = new TreeSet<>();
+            for (int evento : colunas.eventosDoDia(dia))
+                eventos.add(colunas.getEventos().texto(evento));
+            if (!eventos.equals(eventosDoDia(medalhistas, dia)))
+                throw new IllegalStateException("Eventos divergentes no dia " + dia);
+        }
+    }
+
+    /** Dias, sem repetição e em ordem, com alguma medalha entregue */
+    private static int[] dias(MedalhasColunares colunas) {
+        TreeSet<Integer> dias = new TreeSet<>();
+        for (int i = 0; i < colunas.tamanho(); i++)
+            dias.add(colunas.dia(i));
+        return dias.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int totalDeMedalhas(Collection<Medalhista> medalhistas, TipoMedalha tipo) {
+        int total = 0;
+        for (Medalhista medalhista : medalhistas) {
+            Medalha[] medalhas = medalhista.getMedals();
+            for (int i = 0; i < medalhista.getMedalCount(); i++) {
+                if (medalhas[i].getTipo() == tipo)
+                    total++;
+            }
+        }
+        return total;
+    }
+
+    /** Medalhas de cada tipo por país, na ordem de TipoMedalha */
+    private static Map<String, int[]> quadroDeMedalhas(Collection<Medalhista> medalhistas) {
+        Map<String, int[]> quadro = new HashMap<>();
+        for (Medalhista medalhista : medalhistas) {
+            int[] linha = quadro.computeIfAbsent(medalhista.getPais(), pais -> new int[TipoMedalha.values().length]);
+            Medalha[] medalhas = medalhista.getMedals();
+            for (int i = 0; i < medalhista.getMedalCount(); i++)
+                linha[medalhas[i].getTipo().ordinal()]++;
+        }
+        return quadro;
+    }
+
+    /** Eventos, como "disciplina/evento", com medalhas entregues no dia informado */
+    private static TreeSet<String> eventosDoDia(Collection<Medalhista> medalhistas, int diaEpoch) {
+        TreeSet<String> eventos = new TreeSet<>();
+        for (Medalhista medalhista : medalhistas) {
+            Medalha[] medalhas = medalhista.getMedals();
+            for (int i = 0; i < medalhista.getMedalCount(); i++) {
+                if (medalhas[i].getData().toEpochDay() == diaEpoch)
+                    eventos.add(CargaMedalhistas.chaveEvento(medalhas[i].getDisciplina(), medalhas[i].getEvento()));
+            }
+        }
+        return eventos;
+    }
+
+    /** As primeiras repetições servem de aquecimento; só a última é impressa */
+    private static void imprimir(boolean ultima, String consulta, String armazenamento, long inicio, int consultas) {
+        double porConsulta = (System.nanoTime() - inicio) / 1_000.0 / consultas;
+        if (ultima) {
+            System.out.printf("%s\t%s\t%.1f%n", consulta, armazenamento, porConsulta);
+        }
+    }
+}
+
+/**
+ * Particionamento de Hoare usado pelo Introsort e pelo ParallelQuicksort: o
+ * pivô é a mediana de três elementos (ou a mediana de três medianas de três,
+ * em partes grandes) e é levado para a primeira posição, e as duas varreduras
+ * param em elementos iguais ao pivô, de modo que chaves repetidas são
+ * divididas entre as duas partes em vez de irem todas para uma delas.
+ * Conta as comparações e movimentações feitas sobre o array; a mediana de
+ * três e os métodos de comparação e troca também servem às demais etapas de
+ * quem o usa (inserção, heapsort, e o particionamento em três vias do
+ * ThreeWayQuicksort), para que tudo entre na contagem.
+ */
+class ParticionamentoHoare<T> {
+
+    /** A partir deste tamanho, o pivô é a mediana de três medianas de três */
+    private static final int LIMITE_NINTHER = 128;
+
+    private final T[] array;
+    private final Comparator<T> comparador;
+    private long comparacoes;
+    private long movimentacoes;
+
+    ParticionamentoHoare(T[] array, Comparator<T> comparador) {
+        this.array = array;
+        this.comparador = comparador;
+    }
+
+    /**
+     * Particiona array[inicio..fim] e retorna a posição final do pivô: os
+     * elementos antes dela não são maiores que ele, e os depois não são menores.
+     */
+    int particionar(int inicio, int fim) {
+        trocar(inicio, escolherPivo(inicio, fim));
+        T pivo = array[inicio];
+        int i = inicio;
+        int j = fim + 1;
+        while (true) {
+            while (menor(array[++i], pivo)) {
+                if (i == fim) {
+                    break;
+                }
+            }
+            while (menor(pivo, array[--j])) {
+                if (j == inicio) {
+                    break;
+                }
+            }
+            if (i >= j) {
+                break;
+            }
+            trocar(i, j);
+        }
+        trocar(inicio, j);
+        return j;
+    }
+
+    private int escolherPivo(int inicio, int fim) {
+        int tamanho = fim - inicio + 1;
+        int meio = inicio + tamanho / 2;
+        if (tamanho < LIMITE_NINTHER) {
+            return medianaDeTres(inicio, meio, fim);
+        }
+        int passo = tamanho / 8;
+        int primeira = medianaDeTres(inicio, inicio + passo, inicio + 2 * passo);
+        int segunda = medianaDeTres(meio - passo, meio, meio + passo);
+        int terceira = medianaDeTres(fim - 2 * passo, fim - passo, fim);
+        return medianaDeTres(primeira, segunda, terceira);
+    }
+
+    /** Posição do elemento mediano entre array[a], array[b] e array[c] */
+    int medianaDeTres(int a, int b, int c) {
+        if (menor(array[a], array[b])) {
+            if (menor(array[b], array[c])) {
+                return b;
+            }
+            return menor(array[a], array[c]) ? c : a;
+        }
+        if (menor(array[a], array[c])) {
+            return a;
+        }
+        return menor(array[b], array[c]) ? c : b;
+    }
+
+    int comparar(T a, T b) {
+        comparacoes++;
+        return comparador.compare(a, b);
+    }
+
+    boolean menor(T a, T b) {
+        return comparar(a, b) < 0;
+    }
+
+    void trocar(int i, int j) {
+        T temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        movimentacoes++;
+    }
+
+    /** Copia array[origem] para array[destino], como no deslocamento da inserção */
+    void mover(int origem, int destino) {
+        array[destino] = array[origem];
+        movimentacoes++;
+    }
+
+    long getComparacoes() {
+        return comparacoes;
+    }
+
+    long getMovimentacoes() {
+        return movimentacoes;
+    }
+}
+
+/**
+ * Quicksort paralelo: o pivô é escolhido e a parte é particionada como no
+ * Introsort, pelo ParticionamentoHoare. Enquanto a parte de uma tarefa
+ * tiver pelo menos LIMITE_PARALELO elementos, a menor parte de cada partição
+ * vira uma nova tarefa do ForkJoinPool e a maior continua na própria tarefa;
+ * assim cada tarefa aninhada tem no máximo metade dos elementos da anterior,
+ * e nem a pilha nem a quantidade de tarefas passam de log n níveis, mesmo com
+ * entradas ordenadas ou com todos os elementos iguais.
+ * Cada tarefa conta as suas comparações e movimentações, e a tarefa que a
+ * criou soma essas contagens às suas depois do join; assim não há contadores
+ * compartilhados entre threads, e os totais são os mesmos para qualquer
+ * quantidade de threads.
+ */
+class ParallelQuicksort<T> implements IOrdenator<T> {
+
+    /** Abaixo deste tamanho, a parte é ordenada na própria thread */
+    private static final int LIMITE_PARALELO = 1 << 13;
+
+    private T[] array;
+    private Comparator<T> comparador;
+    private final ForkJoinPool pool;
+    private long comparacoes;
+    private long movimentacoes;
+    private long tempoInicial;
+    private long tempoFinal;
+
+    public ParallelQuicksort(T[] array) {
+        this(array, ForkJoinPool.commonPool());
+    }
+
+    public ParallelQuicksort(T[] array, ForkJoinPool pool) {
+        this.array = array;
+        this.pool = pool;
+        this.comparacoes = 0;
+        this.movimentacoes = 0;
+    }
+
+    @Override
+    public T[] ordenar() {
+        tempoInicial = System.nanoTime();
+        TarefaQuicksort tarefa = new TarefaQuicksort(0, array.length - 1);
+        pool.invoke(tarefa);
+        comparacoes = tarefa.comparacoes;
+        movimentacoes = tarefa.movimentacoes;
+        tempoFinal = System.nanoTime();
+        return array;
+    }
+
+    /** Ordena array[esquerda..direita], dividindo o trabalho entre as threads do pool */
+    private class TarefaQuicksort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int esquerda;
+        private final int direita;
+        private long comparacoes;
+        private long movimentacoes;
+
+        TarefaQuicksort(int esquerda, int direita) {
+            this.esquerda = esquerda;
+            this.direita = direita;
+        }
+
+        @Override
+        protected void compute() {
+            ParticionamentoHoare<T> particao = new ParticionamentoHoare<>(array, comparador);
+            int inicio = esquerda;
+            int fim = direita;
+            List<TarefaQuicksort> menores = new ArrayList<>();
+            while (fim - inicio >= LIMITE_PARALELO) {
+                int posicaoPivo = particao.particionar(inicio, fim);
+                TarefaQuicksort menor;
+                if (posicaoPivo - inicio < fim - posicaoPivo) {
+                    menor = new TarefaQuicksort(inicio, posicaoPivo - 1);
+                    inicio = posicaoPivo + 1;
+                } else {
+                    menor = new TarefaQuicksort(posicaoPivo + 1, fim);
+                    fim = posicaoPivo - 1;
+                }
+                menor.fork();
+                menores.add(menor);
+            }
+            quicksort(particao, inicio, fim);
+            comparacoes = particao.getComparacoes();
+            movimentacoes = particao.getMovimentacoes();
+            for (TarefaQuicksort menor : menores) {
+                menor.join();
+                comparacoes += menor.comparacoes;
+                movimentacoes += menor.movimentacoes;
+            }
+        }
+
+        /**
+         * Quicksort sequencial. A recursão é feita só na parte menor, e a maior é
+         * tratada no próprio laço, para que a pilha não passe de log n chamadas.
+         */
+        private void quicksort(ParticionamentoHoare<T> particao, int inicio, int fim) {
+            while (inicio < fim) {
+                int posicaoPivo = particao.particionar(inicio, fim);
+                if (posicaoPivo - inicio < fim - posicaoPivo) {
+                    quicksort(particao, inicio, posicaoPivo - 1);
+                    inicio = posicaoPivo + 1;
+                } else {
+                    quicksort(particao, posicaoPivo + 1, fim);
+                    fim = posicaoPivo - 1;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void setComparador(Comparator<T> comparador) {
+        this.comparador = comparador;
+    }
+
+    @Override
+    public int getComparacoes() {
+        return (int) comparacoes;
+    }
+
+    @Override
+    public int getMovimentacoes() {
+        return (int) movimentacoes;
+    }
+
+    /** Duração da última ordenação, em milissegundos */
+    @Override
+    public double getTempoOrdenacao() {
+        return (tempoFinal - tempoInicial) / 1_000_000.0;
+    }
+}
+
+/**
+ * Mede a escalabilidade do ParallelQuicksort de 1 até N threads, comparando-o
+ * com o Quicksort sequencial sobre a mesma entrada aleatória.
+ * Para cada quantidade de threads, confere que o resultado está ordenado e que
+ * as comparações e movimentações são as mesmas com qualquer quantidade de
+ * threads (o particionamento não depende da divisão entre as tarefas).
+ *
+ * Uso, depois de compilar Aplicacao.java:
+ * java BenchmarkQuicksort [quantidadeItens] [maximoThreads] [repeticoes]
+ */
+class BenchmarkQuicksort {
+
+    public static void main(String[] args) {
+        int quantidade = (args.length > 0) ? Integer.parseInt(args[0]) : 2_000_000;
+        int maxThreads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int repeticoes = (args.length > 2) ? Integer.parseInt(args[2]) : 3;
+
+        Random aleatorio = new Random(42);
+        Integer[] original = new Integer[quantidade];
+        for (int i = 0; i < quantidade; i++)
+            original[i] = aleatorio.nextInt();
+        Integer[] esperado = original.clone();
+        Arrays.sort(esperado);
+        Comparator<Integer> comparador = Comparator.naturalOrder();
+
+        double sequencial = Double.MAX_VALUE;
+        int comparacoes = 0, movimentacoes = 0;
+        for (int r = 0; r < repeticoes; r++) {
+            Quicksort<Integer> quicksort = new Quicksort<>(original.clone());
+            quicksort.setComparador(comparador);
+            long inicio = System.nanoTime();
+            quicksort.ordenar();
+            sequencial = Math.min(sequencial, (System.nanoTime() - inicio) / 1_000_000.0);
+            comparacoes = quicksort.getComparacoes();
+            movimentacoes = quicksort.getMovimentacoes();
+        }
+
+        System.out.println("Threads\tTempo (ms)\tAceleração\tComparações\tMovimentações");
+        System.out.printf("Quicksort\t%.1f\t1.00\t%d\t%d%n", sequencial, comparacoes, movimentacoes);
+        // contagens do ParallelQuicksort com 1 thread, a que as demais devem ser iguais
+        int comparacoesParalelo = -1, movimentacoesParalelo = -1;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double melhor = Double.MAX_VALUE;
+            ParallelQuicksort<Integer> paralelo = null;
+            for (int r = 0; r < repeticoes; r++) {
+                Integer[] dados = original.clone();
+                paralelo = new ParallelQuicksort<>(dados, pool);
+                paralelo.setComparador(comparador);
+                paralelo.ordenar();
+                melhor = Math.min(melhor, paralelo.getTempoOrdenacao());
+                if (!Arrays.equals(dados, esperado))
+                    throw new IllegalStateException("Resultado fora de ordem com " + threads + " threads.");
+            }
+            pool.shutdown();
+            if (comparacoesParalelo < 0) {
+                comparacoesParalelo = paralelo.getComparacoes();
+                movimentacoesParalelo = paralelo.getMovimentacoes();
+            } else if (paralelo.getComparacoes() != comparacoesParalelo
+                    || paralelo.getMovimentacoes() != movimentacoesParalelo) {
+                throw new IllegalStateException("Contagens divergentes com " + threads + " threads.");
+            }
+            System.out.printf("%d\t%.1f\t%.2f\t%d\t%d%n", threads, melhor, sequencial / melhor,
+                    paralelo.getComparacoes(), paralelo.getMovimentacoes());
+        }
+    }
+}
+
+/**
+ * Quicksort introspectivo: o pivô é a mediana de três elementos (ou a mediana
+ * de três medianas, em partes grandes), partes pequenas são ordenadas por
+ * inserção e, se a recursão passar de 2·log n níveis, a parte restante é
+ * ordenada por heapsort. Assim, entradas já ordenadas, quase ordenadas ou com
+ * todos os elementos iguais — que levam o Quicksort a O(n²) comparações e a
+ * uma recursão de profundidade n — ficam em O(n log n).
+ */
+class Introsort<T> implements IOrdenator<T> {
+
+    /** Partes com até esta quantidade de elementos são ordenadas por inserção */
+    private static final int LIMITE_INSERCAO = 16;
+
+    private T[] array;
+    private Comparator<T> comparador;
+    private ParticionamentoHoare<T> particao;
+    private int comparacoes;
+    private int movimentacoes;
+    private long tempoInicial;
+    private long tempoFinal;
+
+    public Introsort(T[] array) {
+        this.array = array;
+        this.comparacoes = 0;
+        this.movimentacoes = 0;
+    }
+
+    @Override
+    public T[] ordenar() {
+        tempoInicial = System.nanoTime();
+        particao = new ParticionamentoHoare<>(array, comparador);
+        if (array.length > 1) {
+            int log2 = 31 - Integer.numberOfLeadingZeros(array.length);
+            introsort(0, array.length - 1, 2 * log2);
+        }
+        comparacoes = (int) particao.getComparacoes();
+        movimentacoes = (int) particao.getMovimentacoes();
+        tempoFinal = System.nanoTime();
+        return array;
+    }
+
+    /**
+     * Ordena array[esquerda..direita]. A recursão é feita só na parte menor de
+     * cada partição, e a maior é tratada no próprio laço.
+     */
+    private void introsort(int esquerda, int direita, int profundidadeRestante) {
+        while (direita - esquerda + 1 > LIMITE_INSERCAO) {
+            if (profundidadeRestante == 0) {
+                heapsort(esquerda, direita);
+                return;
+            }
+            profundidadeRestante--;
+            int posicaoPivo = particao.particionar(esquerda, direita);
+            if (posicaoPivo - esquerda < direita - posicaoPivo) {
+                introsort(esquerda, posicaoPivo - 1, profundidadeRestante);
+                esquerda = posicaoPivo + 1;
+            } else {
+                introsort(posicaoPivo + 1, direita, profundidadeRestante);
+                direita = posicaoPivo - 1;
+            }
+        }
+        insercao(esquerda, direita);
+    }
+
+    private void insercao(int esquerda, int direita) {
+        for (int i = esquerda + 1; i <= direita; i++) {
+            T atual = array[i];
+            int j = i - 1;
+            while (j >= esquerda && particao.menor(atual, array[j])) {
+                particao.mover(j, j + 1);
+                j--;
+            }
+            array[j + 1] = atual;
+        }
+    }
+
+    private void heapsort(int esquerda, int direita) {
+        int tamanho = direita - esquerda + 1;
+        for (int i = tamanho / 2 - 1; i >= 0; i--) {
+            descer(esquerda, i, tamanho);
+        }
+        for (int fim = tamanho - 1; fim > 0; fim--) {
+            particao.trocar(esquerda, esquerda + fim);
+            descer(esquerda, 0, fim);
+        }
+    }
+
+    /** Restaura o heap de máximo em array[base..base+tamanho-1] a partir do nó i */
+    private void descer(int base, int i, int tamanho) {
+        while (2 * i + 1 < tamanho) {
+            int filho = 2 * i + 1;
+            if (filho + 1 < tamanho && particao.menor(array[base + filho], array[base + filho + 1])) {
+                filho++;
+            }
+            if (!particao.menor(array[base + i], array[base + filho])) {
+                return;
+            }
+            particao.trocar(base + i, base + filho);
+            i = filho;
+        }
+    }
+
+    @Override
+    public void setComparador(Comparator<T> comparador) {
+        this.comparador = comparador;
+    }
+
+    @Override
+    public int getComparacoes() {
+        return comparacoes;
+    }
+
+    @Override
+    public int getMovimentacoes() {
+        return movimentacoes;
+    }
+
+    /** Duração da última ordenação, em milissegundos */
+    @Override
+    public double getTempoOrdenacao() {
+        return (tempoFinal - tempoInicial) / 1_000_000.0;
+    }
+}
+
+/**
+ * Quicksort com particionamento em três vias (bandeira holandesa, de
+ * Dijkstra): cada partição separa os elementos menores, iguais e maiores que o
+ * pivô, e só as partes de menores e de maiores continuam sendo ordenadas.
+ * Com muitas chaves repetidas, como países empatados no quadro de medalhas, os
+ * iguais ao pivô saem da recursão de uma vez, em vez de serem trocados e
+ * particionados de novo a cada nível como no Quicksort. O pivô é a mediana de
+ * três, para que entradas quase ordenadas não degenerem.
+ */
+class ThreeWayQuicksort<T> implements IOrdenator<T> {
+
+    private T[] array;
+    private Comparator<T> comparador;
+    private ParticionamentoHoare<T> particao;
+    private int comparacoes;
+    private int movimentacoes;
+    private long tempoInicial;
+    private long tempoFinal;
+
+    public ThreeWayQuicksort(T[] array) {
+        this.array = array;
+        this.comparacoes = 0;
+        this.movimentacoes = 0;
+    }
+
+    @Override
+    public T[] ordenar() {
+        tempoInicial = System.nanoTime();
+        particao = new ParticionamentoHoare<>(array, comparador);
+        quicksort(0, array.length - 1);
+        comparacoes = (int) particao.getComparacoes();
+        movimentacoes = (int) particao.getMovimentacoes();
+        tempoFinal = System.nanoTime();
+        return array;
+    }
+
+    /**
+     * Ordena array[esquerda..direita]. Os elementos iguais ao pivô ficam em
+     * array[menores..maiores]; a recursão é feita só na parte menor, e a maior é
+     * tratada no próprio laço.
+     */
+    private void quicksort(int esquerda, int direita) {
+        while (esquerda < direita) {
+            particao.trocar(esquerda, particao.medianaDeTres(esquerda, esquerda + (direita - esquerda) / 2, direita));
+            T pivo = array[esquerda];
+            int menores = esquerda;
+            int maiores = direita;
+            int i = esquerda + 1;
+            while (i <= maiores) {
+                int comparacao = particao.comparar(array[i], pivo);
+                if (comparacao < 0) {
+                    particao.trocar(menores++, i++);
+                } else if (comparacao > 0) {
+                    particao.trocar(i, maiores--);
+                } else {
+                    i++;
+                }
+            }
+            if (menores - esquerda < direita - maiores) {
+                quicksort(esquerda, menores - 1);
+                esquerda = maiores + 1;
+            } else {
+                quicksort(maiores + 1, direita);
+                direita = menores - 1;
+            }
+        }
+    }
+
+    @Override
+    public void setComparador(Comparator<T> comparador) {
+        this.comparador = comparador;
+    }
+
+    @Override
+    public int getComparacoes() {
+        return comparacoes;
+    }
+
+    @Override
+    public int getMovimentacoes() {
+        return movimentacoes;
+    }
+
+    /** Duração da última ordenação, em milissegundos */
+    @Override
+    public double getTempoOrdenacao() {
+        return (tempoFinal - tempoInicial) / 1_000_000.0;
+    }
+}
+
+/**
+ * Compara o Quicksort (particionamento em duas vias), o Introsort e o
+ * ThreeWayQuicksort (três vias) em entradas com muitas chaves repetidas:
+ * - os países do arquivo de medalhistas, no comparador do quadro de medalhas;
+ * - quantidadeItens países sorteados, com repetição, dentre os do arquivo;
+ * - quantidadeItens inteiros com 2, 16, 256 e quantidadeItens valores distintos.
+ * Cada ordenação é conferida com o comparador, e é impresso o menor tempo das
+ * repetições, com as comparações e movimentações.
+ * Como o Quicksort chega a uma recursão de profundidade n quando há poucas
+ * chaves distintas, as medições rodam numa thread com pilha grande.
+ *
+ * Uso, depois de compilar Aplicacao.java:
+ * java BenchmarkParticionamento [quantidadeItens] [repeticoes] [arquivoCSV]
+ */
+class BenchmarkParticionamento {
+
+    private static final String[] NOMES = { "Quicksort", "Introsort", "ThreeWayQuicksort" };
+
+    public static void main(String[] args) throws Exception {
+        int quantidade = (args.length > 0) ? Integer.parseInt(args[0]) : 20_000;
+        int repeticoes = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+        String csv = (args.length > 2) ? args[2] : "/tmp/medallists.csv";
+
+        Thread medicao = new Thread(null, () -> {
+            try {
+                medir(quantidade, repeticoes, csv);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, "benchmark", 1L << 30);
+        medicao.start();
+        medicao.join();
+    }
+
+    private static void medir(int quantidade, int repeticoes, String csv) throws IOException {
+        Pais[] paises = CarregadorParalelo.carregar(csv).getPaises().values().toArray(new Pais[0]);
+        Random aleatorio = new Random(42);
+
+        System.out.println("Entrada\tOrdenador\tTempo (ms)\tComparações\tMovimentações");
+        medir("países do arquivo (" + paises.length + ")", paises, Aplicacao.QUADRO_DE_MEDALHAS,
+                Math.max(repeticoes, 1000));
+
+        Pais[] sorteados = new Pais[quantidade];
+        for (int i = 0; i < quantidade; i++)
+            sorteados[i] = paises[aleatorio.nextInt(paises.length)];
+        medir(quantidade + " países sorteados", sorteados, Aplicacao.QUADRO_DE_MEDALHAS, repeticoes);
+
+        for (int distintos : new int[] { 2, 16, 256, quantidade }) {
+            Integer[] inteiros = new Integer[quantidade];
+            for (int i = 0; i < quantidade; i++)
+                inteiros[i] = aleatorio.nextInt(distintos);
+            medir(quantidade + " inteiros, " + distintos + " distintos", inteiros,
+                    Comparator.<Integer>naturalOrder(), repeticoes);
+        }
+    }
+
+    private static <T> void medir(String entrada, T[] original, Comparator<T> comparador, int repeticoes) {
+        for (int k = 0; k < NOMES.length; k++) {
+            double melhor = Double.MAX_VALUE;
+            IOrdenator<T> ordenador = null;
+            for (int r = 0; r < repeticoes; r++) {
+                T[] dados = original.clone();
+                ordenador = BenchmarkParticionamento.<T>criar(k).apply(dados);
+                ordenador.setComparador(comparador);
+                ordenador.ordenar();
+                melhor = Math.min(melhor, ordenador.getTempoOrdenacao());
+                conferir(dados, original, comparador, NOMES[k]);
+            }
+            System.out.printf("%s\t%s\t%.3f\t%d\t%d%n", entrada, NOMES[k], melhor,
+                    ordenador.getComparacoes(), ordenador.getMovimentacoes());
+        }
+    }
+
+    private static <T> Function<T[], IOrdenator<T>> criar(int ordenador) {
+        switch (ordenador) {
+            case 0:
+                return Quicksort::new;
+            case 1:
+                return Introsort::new;
+            default:
+                return ThreeWayQuicksort::new;
+        }
+    }
+
+    /**
+     * Confere que o resultado está em ordem e que tem os mesmos elementos da
+     * entrada (a ordem dos empatados pode variar entre os ordenadores).
+     */
+    private static <T> void conferir(T[] ordenado, T[] original, Comparator<T> comparador, String nome) {
+        for (int i = 1; i < ordenado.length; i++) {
+            if (comparador.compare(ordenado[i - 1], ordenado[i]) > 0)
+                throw new IllegalStateException(nome + " deixou a posição " + i + " fora de ordem.");
+        }
+        int[] identidadesOrdenado = identidades(ordenado);
+        int[] identidadesOriginal = identidades(original);
+        if (!Arrays.equals(identidadesOrdenado, identidadesOriginal))
+            throw new IllegalStateException(nome + " perdeu ou duplicou elementos.");
+    }
+
+    private static int[] identidades(Object[] elementos) {
+        int[] identidades = new int[elementos.length];
+        for (int i = 0; i < elementos.length; i++)
+            identidades[i] = System.identityHashCode(elementos[i]);
+        Arrays.sort(identidades);
+        return identidades;
+    }
+}
+
+public class Aplicacao {
+
+    /** Ordem do quadro de medalhas: mais ouros, depois mais pratas, depois mais bronzes */
+    static final Comparator<Pais> QUADRO_DE_MEDALHAS = new Comparator<Pais>() {
+        @Override
+        public int compare(Pais p1, Pais p2) {
+            int comparacaoOuros = Integer.compare(p2.totalDeMedalhas(TipoMedalha.OURO), p1.totalDeMedalhas(TipoMedalha.OURO));
+            if (comparacaoOuros != 0) {
+                return comparacaoOuros;
+            }
+            
+            int comparacaoPratas = Integer.compare(p2.totalDeMedalhas(TipoMedalha.PRATA), p1.totalDeMedalhas(TipoMedalha.PRATA));
+            if (comparacaoPratas != 0) {
+                return comparacaoPratas;
+            }
+            
+            return Integer.compare(p2.totalDeMedalhas(TipoMedalha.BRONZE), p1.totalDeMedalhas(TipoMedalha.BRONZE)); // Ordena por bronze
+        }
+    };
+
+    public static void main(String[] args) {
+        Map<String, Pais> paisesMap = carregarPaises("/tmp/medallists.csv");
+        Scanner leitura = new Scanner(System.in);
+        
+        int numPaises = Integer.parseInt(leitura.nextLine());
+    
+        Pais[] paisesOrdenar = new Pais[numPaises];
+        for (int i = 0; i < numPaises; i++) {
+            String nomePais = leitura.nextLine();
+            Pais pais = paisesMap.get(nomePais);
+            if (pais == null) {
+                i--;
+                continue;
+            }
+            paisesOrdenar[i] = pais;
+        }
+        leitura.close();
+    
+        Quicksort<Pais> quicksort = new Quicksort<>(paisesOrdenar);
+        quicksort.setComparador(QUADRO_DE_MEDALHAS);
+        quicksort.ordenar();
+    
+        for (Pais pais : paisesOrdenar) {
+            if (pais != null) {
+                int totalOuros = pais.totalDeMedalhas(TipoMedalha.OURO);
+                int totalPratas = pais.totalDeMedalhas(TipoMedalha.PRATA);
+                int totalBronzes = pais.totalDeMedalhas(TipoMedalha.BRONZE);
+                int totalMedalhas = totalOuros + totalPratas + totalBronzes;
+    
+                System.out.printf("%s: %02d ouros %02d pratas %02d bronzes. Total: %02d medalhas.%n",
+                                  pais.getNome(), totalOuros, totalPratas, totalBronzes, totalMedalhas);
+            }
+        }
+        
+        log("_quicksort.txt", quicksort);
+    }
+
+    private static Map<String, Pais> carregarPaises(String csvFile) {
+        try {
+            // a cópia binária só é usada (e gravada) quando o seu caminho é informado,
+            // com -Dmedalhistas.snapshot=caminho
+            String snapshot = System.getProperty("medalhistas.snapshot");
+            CargaMedalhistas carga = (snapshot == null) ? CarregadorParalelo.carregar(csvFile)
+                    : SnapshotMedalhistas.carregarOuCriar(csvFile, snapshot);
+            return carga.getPaises();
+        } catch (NoSuchFileException e) {
+            System.out.println("Arquivo não encontrado: " + csvFile);
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.out.println("Erro ao ler o arquivo: " + csvFile);
+            e.printStackTrace();
+        }
+
+        return new HashMap<>();
+    }
+
     private static void log(String nome, IOrdenator<?> ordenador) {
 
         try {
@@ -0,0 +1,114 @@
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Compara as formas de converter as datas do arquivo de medalhistas:
+ * LocalDate.parse (e DateTimeFormatter, no formato brasileiro), a validação
+ * por expressão regular seguida de SimpleDateFormat, como fazia a Quinta
+ * Parte, e o ConversorData.
+ * Antes de medir, confere que as três formas chegam ao mesmo dia epoch.
+ *
+ * Uso: java BenchmarkDatas [quantidadeDatas] [repeticoes]
+ */
+public class BenchmarkDatas {
+
+    private static final DateTimeFormatter FORMATO_BRASILEIRO = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    /// resultado acumulado, para que as conversões não sejam descartadas pelo compilador
+    private static long soma;
+
+    public static void main(String[] args) throws ParseException {
+        int quantidade = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        int repeticoes = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+        Random aleatorio = new Random(42);
+        int primeiroDia = (int) LocalDate.of(1900, 1, 1).toEpochDay();
+        int ultimoDia = (int) LocalDate.of(2030, 12, 31).toEpochDay();
+        String[] iso = new String[quantidade];
+        String[] brasileiras = new String[quantidade];
+        int[] esperados = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            esperados[i] = primeiroDia + aleatorio.nextInt(ultimoDia - primeiroDia + 1);
+            LocalDate data = LocalDate.ofEpochDay(esperados[i]);
+            iso[i] = data.toString();
+            brasileiras[i] = FORMATO_BRASILEIRO.format(data);
+        }
+
+        SimpleDateFormat formatoIso = new SimpleDateFormat("yyyy-MM-dd");
+        SimpleDateFormat formatoBrasileiro = new SimpleDateFormat("dd/MM/yyyy");
+        formatoIso.setTimeZone(TimeZone.getTimeZone(ZoneOffset.UTC));
+        formatoBrasileiro.setTimeZone(TimeZone.getTimeZone(ZoneOffset.UTC));
+        for (int i = 0; i < quantidade; i++) {
+            if (ConversorData.diaEpoch(iso[i]) != esperados[i]
+                    || ConversorData.diaEpoch(brasileiras[i]) != esperados[i]
+                    || (int) LocalDate.parse(iso[i]).toEpochDay() != esperados[i]
+                    || diaEpochComRegex(iso[i], formatoIso, formatoBrasileiro) != esperados[i]
+                    || diaEpochComRegex(brasileiras[i], formatoIso, formatoBrasileiro) != esperados[i]) {
+                throw new IllegalStateException("Conversão divergente para " + iso[i]);
+            }
+        }
+
+        System.out.println("Formato\tConversão\tns/data");
+        for (int r = 0; r < repeticoes; r++) {
+            boolean ultima = (r == repeticoes - 1);
+
+            long inicio = System.nanoTime();
+            for (String data : iso)
+                soma += LocalDate.parse(data).toEpochDay();
+            imprimir(ultima, "yyyy-MM-dd", "LocalDate.parse", inicio, quantidade);
+
+            inicio = System.nanoTime();
+            for (String data : iso)
+                soma += diaEpochComRegex(data, formatoIso, formatoBrasileiro);
+            imprimir(ultima, "yyyy-MM-dd", "regex + SimpleDateFormat", inicio, quantidade);
+
+            inicio = System.nanoTime();
+            for (String data : iso)
+                soma += ConversorData.diaEpoch(data);
+            imprimir(ultima, "yyyy-MM-dd", "ConversorData", inicio, quantidade);
+
+            inicio = System.nanoTime();
+            for (String data : brasileiras)
+                soma += LocalDate.parse(data, FORMATO_BRASILEIRO).toEpochDay();
+            imprimir(ultima, "dd/MM/yyyy", "DateTimeFormatter", inicio, quantidade);
+
+            inicio = System.nanoTime();
+            for (String data : brasileiras)
+                soma += diaEpochComRegex(data, formatoIso, formatoBrasileiro);
+            imprimir(ultima, "dd/MM/yyyy", "regex + SimpleDateFormat", inicio, quantidade);
+
+            inicio = System.nanoTime();
+            for (String data : brasileiras)
+                soma += ConversorData.diaEpoch(data);
+            imprimir(ultima, "dd/MM/yyyy", "ConversorData", inicio, quantidade);
+        }
+        System.out.println("(soma de conferência: " + soma + ")");
+    }
+
+    /** Caminho anterior da Quinta Parte: escolhe o formato por regex e converte com SimpleDateFormat */
+    private static int diaEpochComRegex(String data, SimpleDateFormat formatoIso, SimpleDateFormat formatoBrasileiro)
+            throws ParseException {
+        Date convertida;
+        if (data.matches("\\d{4}-\\d{2}-\\d{2}")) {
+            convertida = formatoIso.parse(data);
+        } else if (data.matches("\\d{2}/\\d{2}/\\d{4}")) {
+            convertida = formatoBrasileiro.parse(data);
+        } else {
+            throw new ParseException("Data em formato inválido: " + data, 0);
+        }
+        return (int) Math.floorDiv(convertida.getTime(), 86_400_000L);
+    }
+
+    /** As primeiras repetições servem de aquecimento; só a última é impressa */
+    private static void imprimir(boolean ultima, String formato, String conversao, long inicio, int quantidade) {
+        double porData = (double) (System.nanoTime() - inicio) / quantidade;
+        if (ultima) {
+            System.out.printf("%s\t%s\t%.1f%n", formato, conversao, porData);
+        }
+    }
+}
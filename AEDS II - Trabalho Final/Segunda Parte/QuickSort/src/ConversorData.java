@@ -0,0 +1,111 @@
+import java.time.LocalDate;
+
+/**
+ * Conversão de datas nos formatos "yyyy-MM-dd" e "dd/MM/yyyy" no seu dia epoch
+ * (quantidade de dias desde 01/01/1970, como em LocalDate.toEpochDay). O dia e
+ * o mês podem ter um ou dois dígitos ("2024-7-5", "5/7/2024"), e o ano tem
+ * sempre quatro, como no IndiceDatas da Quinta Parte.
+ * Os dígitos são lidos diretamente da sequência de caracteres e o dia é
+ * calculado com aritmética inteira, sem criar objetos; por isso funciona sobre
+ * as visões de campo do LeitorCSV sem convertê-las em String.
+ */
+class ConversorData {
+
+    /** Dias de 01/03/0000 a 01/01/1970 no calendário gregoriano proléptico */
+    private static final int DIAS_ATE_1970 = 719_468;
+    private static final int DIAS_EM_400_ANOS = 146_097;
+
+    /**
+     * Converte uma data nos formatos "yyyy-MM-dd" ou "dd/MM/yyyy" no seu dia
+     * epoch.
+     *
+     * @param data Data a ser convertida.
+     * @return O dia epoch da data.
+     * @throws IllegalArgumentException se a data não estiver em nenhum dos
+     *                                  formatos ou não existir no calendário.
+     */
+    public static int diaEpoch(CharSequence data) {
+        int ano, mes, dia;
+        int tamanho = data.length();
+        int primeiroSeparador = fimDosDigitos(data, 0);
+        int segundoSeparador = (primeiroSeparador < tamanho) ? fimDosDigitos(data, primeiroSeparador + 1) : tamanho;
+        if (segundoSeparador >= tamanho || data.charAt(segundoSeparador) != data.charAt(primeiroSeparador)
+                || fimDosDigitos(data, segundoSeparador + 1) != tamanho) {
+            throw new IllegalArgumentException("Data em formato inválido: " + data);
+        }
+        if (data.charAt(primeiroSeparador) == '-') {
+            ano = campo(data, 0, primeiroSeparador, 4, 4);
+            mes = campo(data, primeiroSeparador + 1, segundoSeparador, 1, 2);
+            dia = campo(data, segundoSeparador + 1, tamanho, 1, 2);
+        } else if (data.charAt(primeiroSeparador) == '/') {
+            dia = campo(data, 0, primeiroSeparador, 1, 2);
+            mes = campo(data, primeiroSeparador + 1, segundoSeparador, 1, 2);
+            ano = campo(data, segundoSeparador + 1, tamanho, 4, 4);
+        } else {
+            throw new IllegalArgumentException("Data em formato inválido: " + data);
+        }
+        if (mes < 1 || mes > 12 || dia < 1 || dia > diasNoMes(ano, mes)) {
+            throw new IllegalArgumentException("Data inexistente: " + data);
+        }
+        return diaEpoch(ano, mes, dia);
+    }
+
+    /** Converte uma data nos formatos "yyyy-MM-dd" ou "dd/MM/yyyy" em LocalDate */
+    public static LocalDate paraLocalDate(CharSequence data) {
+        return LocalDate.ofEpochDay(diaEpoch(data));
+    }
+
+    /**
+     * Dia epoch de uma data válida. Os anos são contados a partir de março, para
+     * que o dia 29 de fevereiro seja o último do ano e a quantidade de dias até
+     * o início de cada mês seja dada por (153 * mes + 2) / 5.
+     */
+    private static int diaEpoch(int ano, int mes, int dia) {
+        int anoMarco = (mes <= 2) ? ano - 1 : ano;
+        int era = Math.floorDiv(anoMarco, 400);
+        int anoDaEra = anoMarco - era * 400;
+        int mesMarco = (mes + 9) % 12;
+        int diaDoAno = (153 * mesMarco + 2) / 5 + dia - 1;
+        int diaDaEra = anoDaEra * 365 + anoDaEra / 4 - anoDaEra / 100 + diaDoAno;
+        return era * DIAS_EM_400_ANOS + diaDaEra - DIAS_ATE_1970;
+    }
+
+    private static int diasNoMes(int ano, int mes) {
+        switch (mes) {
+            case 2:
+                boolean bissexto = (ano % 4 == 0 && ano % 100 != 0) || ano % 400 == 0;
+                return bissexto ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /** Posição do primeiro caractere que não é dígito a partir de inicio, ou o tamanho do texto */
+    private static int fimDosDigitos(CharSequence texto, int inicio) {
+        int i = inicio;
+        while (i < texto.length() && texto.charAt(i) >= '0' && texto.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Valor dos dígitos em texto[inicio..fim-1], que devem ser de minimoDigitos
+     * até maximoDigitos.
+     */
+    private static int campo(CharSequence texto, int inicio, int fim, int minimoDigitos, int maximoDigitos) {
+        if (fim - inicio < minimoDigitos || fim - inicio > maximoDigitos) {
+            throw new IllegalArgumentException("Data em formato inválido: " + texto);
+        }
+        int valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            valor = valor * 10 + (texto.charAt(i) - '0');
+        }
+        return valor;
+    }
+}
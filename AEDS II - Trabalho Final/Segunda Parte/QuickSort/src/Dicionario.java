@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+/**
+ * Dicionário de textos: associa cada texto distinto a um código inteiro
+ * pequeno (0, 1, 2, ... na ordem em que os textos aparecem) e guarda uma única
+ * instância de cada texto.
+ * Serve para colunas com poucos valores distintos, como país, disciplina,
+ * evento e gênero: em vez de uma String nova por linha, todos os objetos
+ * apontam para a instância canônica, e comparações de igualdade podem ser
+ * feitas pelos códigos.
+ * A busca aceita qualquer CharSequence (por exemplo, as visões de campo do
+ * LeitorCSV) e só cria uma String quando o texto ainda não está no dicionário.
+ * Os textos são comparados caractere a caractere; por isso, um mesmo texto com
+ * acentos lido como String e como visão de bytes resulta em códigos
+ * diferentes, e cada dicionário deve ser alimentado sempre do mesmo jeito.
+ */
+class Dicionario {
+
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    /** Código + 1 do texto guardado em cada posição da tabela; 0 indica posição livre */
+    private int[] tabela;
+    /** Hash de cada código, para evitar comparações de textos diferentes */
+    private int[] hashes;
+    /** Conteúdo de cada código, caractere a caractere, usado na comparação */
+    private String[] chaves;
+    /** Instância canônica de cada código */
+    private String[] textos;
+    private int quantidade;
+
+    public Dicionario() {
+        this.tabela = new int[CAPACIDADE_INICIAL];
+        this.hashes = new int[CAPACIDADE_INICIAL / 2];
+        this.chaves = new String[CAPACIDADE_INICIAL / 2];
+        this.textos = new String[CAPACIDADE_INICIAL / 2];
+        this.quantidade = 0;
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    /**
+     * Retorna o código do texto, incluindo-o no dicionário se ele ainda não
+     * estiver lá.
+     */
+    public int codigo(CharSequence texto) {
+        int hash = hash(texto);
+        int mascara = tabela.length - 1;
+        int posicao = espalhar(hash) & mascara;
+        while (tabela[posicao] != 0) {
+            int codigo = tabela[posicao] - 1;
+            if (hashes[codigo] == hash && chaves[codigo].contentEquals(texto)) {
+                return codigo;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return incluir(texto, hash, posicao);
+    }
+
+    /** Retorna a instância canônica do texto, incluindo-o se necessário */
+    public String canonico(CharSequence texto) {
+        int codigo = codigo(texto); // antes de ler textos, que pode ser trocado ao incluir
+        return textos[codigo];
+    }
+
+    /** Retorna o texto correspondente a um código */
+    public String texto(int codigo) {
+        if (codigo < 0 || codigo >= quantidade) {
+            throw new IndexOutOfBoundsException("Código inexistente no dicionário: " + codigo);
+        }
+        return textos[codigo];
+    }
+
+    private int incluir(CharSequence texto, int hash, int posicao) {
+        if (quantidade == textos.length) {
+            int novoTamanho = textos.length * 2;
+            hashes = Arrays.copyOf(hashes, novoTamanho);
+            chaves = Arrays.copyOf(chaves, novoTamanho);
+            textos = Arrays.copyOf(textos, novoTamanho);
+        }
+        int codigo = quantidade++;
+        String canonico = texto.toString();
+        hashes[codigo] = hash;
+        textos[codigo] = canonico;
+        // a visão de bytes de um texto com acentos difere do texto decodificado
+        chaves[codigo] = canonico.contentEquals(texto) ? canonico : new StringBuilder(texto).toString();
+        tabela[posicao] = codigo + 1;
+
+        // a tabela é mantida com no máximo metade das posições ocupadas
+        if (quantidade * 2 > tabela.length) {
+            redimensionar(tabela.length * 2);
+        }
+        return codigo;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] nova = new int[novaCapacidade];
+        int mascara = novaCapacidade - 1;
+        for (int codigo = 0; codigo < quantidade; codigo++) {
+            int posicao = espalhar(hashes[codigo]) & mascara;
+            while (nova[posicao] != 0) {
+                posicao = (posicao + 1) & mascara;
+            }
+            nova[posicao] = codigo + 1;
+        }
+        tabela = nova;
+    }
+
+    /** Mesmo cálculo de String.hashCode, que para Strings já vem pronto */
+    private static int hash(CharSequence texto) {
+        if (texto instanceof String) {
+            return texto.hashCode();
+        }
+        int hash = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            hash = 31 * hash + texto.charAt(i);
+        }
+        return hash;
+    }
+
+    /** Mistura os bits altos nos baixos, já que a posição usa só os bits baixos */
+    private static int espalhar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
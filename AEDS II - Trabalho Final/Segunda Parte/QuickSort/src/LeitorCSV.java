@@ -0,0 +1,329 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Leitor de arquivos CSV simples (campos separados por vírgula, sem aspas) que
+ * mapeia o arquivo em memória com FileChannel.map e percorre os bytes
+ * procurando os separadores, sem criar uma String por linha nem por campo.
+ * Os campos da linha atual ficam disponíveis como posições no arquivo ou como
+ * visões CharSequence; só vira String o que for pedido com texto(int).
+ * Arquivos maiores que uma janela de mapeamento são lidos em janelas
+ * sucessivas, sempre iniciadas no começo de uma linha. Também é possível ler
+ * só um trecho do arquivo, delimitado por posições obtidas com
+ * dividirEmLinhas, para que vários leitores processem o arquivo em paralelo.
+ *
+ * Uso:
+ *
+ * <pre>
+ * try (LeitorCSV leitor = new LeitorCSV(caminho)) {
+ *     leitor.proximaLinha(); // cabeçalho
+ *     while (leitor.proximaLinha()) {
+ *         String nome = leitor.texto(0);
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+class LeitorCSV implements AutoCloseable {
+    /** Tamanho máximo de cada trecho do arquivo mapeado em memória */
+    private static final long TAMANHO_JANELA = 1L << 30;
+    private static final byte SEPARADOR = ',';
+
+    private final FileChannel canal;
+    /** Posição, no arquivo, em que a leitura termina (exclusive) */
+    private final long fimLeitura;
+    private final long tamanhoJanela;
+
+    /** Trecho do arquivo atualmente mapeado */
+    private MappedByteBuffer janela;
+    /** Posição, no arquivo, do primeiro byte da janela */
+    private long inicioJanela;
+    /** Posição, na janela, do início da próxima linha */
+    private int posicao;
+
+    /** Início (inclusive) e fim (exclusive) de cada campo da linha atual, na janela */
+    private int[] inicios;
+    private int[] fins;
+    private int quantidadeCampos;
+    private Campo[] campos;
+    /** Área de cópia usada para decodificar os campos convertidos em String */
+    private byte[] bytesCampo;
+
+    public LeitorCSV(String caminho) throws IOException {
+        this(caminho, 0, -1, TAMANHO_JANELA);
+    }
+
+    /**
+     * Abre o arquivo para leitura usando janelas de mapeamento do tamanho
+     * informado. Uma linha precisa caber inteira numa janela.
+     */
+    public LeitorCSV(String caminho, long tamanhoJanela) throws IOException {
+        this(caminho, 0, -1, tamanhoJanela);
+    }
+
+    /**
+     * Abre um trecho do arquivo para leitura. O início deve ser o começo de uma
+     * linha, e o fim, o começo de outra ou o fim do arquivo.
+     *
+     * @param inicio Posição do primeiro byte do trecho.
+     * @param fim    Posição seguinte ao último byte do trecho; -1 para ler até o
+     *               fim do arquivo.
+     */
+    public LeitorCSV(String caminho, long inicio, long fim) throws IOException {
+        this(caminho, inicio, fim, TAMANHO_JANELA);
+    }
+
+    private LeitorCSV(String caminho, long inicio, long fim, long tamanhoJanela) throws IOException {
+        if (tamanhoJanela <= 0 || tamanhoJanela > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho de janela inválido: " + tamanhoJanela);
+        }
+        this.canal = FileChannel.open(Path.of(caminho), StandardOpenOption.READ);
+        long tamanhoArquivo = canal.size();
+        if (fim < 0) {
+            fim = tamanhoArquivo;
+        }
+        if (inicio < 0 || inicio > fim || fim > tamanhoArquivo) {
+            canal.close();
+            throw new IllegalArgumentException("Trecho inválido: [" + inicio + ", " + fim + ") num arquivo de "
+                    + tamanhoArquivo + " bytes.");
+        }
+        this.fimLeitura = fim;
+        this.tamanhoJanela = tamanhoJanela;
+        this.inicios = new int[16];
+        this.fins = new int[16];
+        this.campos = new Campo[16];
+        this.bytesCampo = new byte[64];
+        mapear(inicio);
+    }
+
+    private void mapear(long inicio) throws IOException {
+        janela = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(tamanhoJanela, fimLeitura - inicio));
+        inicioJanela = inicio;
+        posicao = 0;
+    }
+
+    private boolean janelaVaiAteOFim() {
+        return inicioJanela + janela.limit() >= fimLeitura;
+    }
+
+    /**
+     * Avança para a próxima linha do arquivo, separando os seus campos.
+     *
+     * @return false se não houver mais linhas.
+     * @throws IOException se uma linha não couber numa janela de mapeamento.
+     */
+    public boolean proximaLinha() throws IOException {
+        if (inicioJanela + posicao >= fimLeitura) {
+            return false;
+        }
+        int fim = separarCampos(posicao);
+        if (fim < 0 && !janelaVaiAteOFim()) {
+            // a linha continua depois do fim da janela: remapeia a partir dela
+            mapear(inicioJanela + posicao);
+            fim = separarCampos(0);
+            if (fim < 0 && !janelaVaiAteOFim()) {
+                throw new IOException("Linha maior que a janela de leitura na posição " + inicioJanela);
+            }
+        }
+        posicao = (fim < 0) ? janela.limit() : fim + 1;
+        return true;
+    }
+
+    /**
+     * Percorre os bytes a partir de inicio, registrando os limites dos campos
+     * até a quebra de linha.
+     *
+     * @return a posição da quebra de linha na janela, ou -1 se a janela
+     *         terminou antes dela.
+     */
+    private int separarCampos(int inicio) {
+        quantidadeCampos = 0;
+        int inicioCampo = inicio;
+        int limite = janela.limit();
+        for (int i = inicio; i < limite; i++) {
+            byte b = janela.get(i);
+            if (b == SEPARADOR) {
+                registrarCampo(inicioCampo, i);
+                inicioCampo = i + 1;
+            } else if (b == '\n') {
+                registrarCampo(inicioCampo, semRetornoDeCarro(inicioCampo, i));
+                return i;
+            }
+        }
+        registrarCampo(inicioCampo, semRetornoDeCarro(inicioCampo, limite));
+        return -1;
+    }
+
+    private int semRetornoDeCarro(int inicioCampo, int fim) {
+        return (fim > inicioCampo && janela.get(fim - 1) == '\r') ? fim - 1 : fim;
+    }
+
+    private void registrarCampo(int inicio, int fim) {
+        if (quantidadeCampos == inicios.length) {
+            int novoTamanho = inicios.length * 2;
+            inicios = Arrays.copyOf(inicios, novoTamanho);
+            fins = Arrays.copyOf(fins, novoTamanho);
+            campos = Arrays.copyOf(campos, novoTamanho);
+        }
+        inicios[quantidadeCampos] = inicio;
+        fins[quantidadeCampos] = fim;
+        quantidadeCampos++;
+    }
+
+    public int quantidadeCampos() {
+        return quantidadeCampos;
+    }
+
+    private void validarCampo(int indice) {
+        if (indice < 0 || indice >= quantidadeCampos) {
+            throw new IndexOutOfBoundsException("Campo " + indice + " inexistente; a linha tem " + quantidadeCampos
+                    + " campos.");
+        }
+    }
+
+    /** Posição, no arquivo, do primeiro byte do campo */
+    public long inicioCampo(int indice) {
+        validarCampo(indice);
+        return inicioJanela + inicios[indice];
+    }
+
+    /** Quantidade de bytes do campo */
+    public int tamanhoCampo(int indice) {
+        validarCampo(indice);
+        return fins[indice] - inicios[indice];
+    }
+
+    /**
+     * Retorna uma visão do campo, sem copiar os seus bytes. A visão é reutilizada
+     * e só é válida até a próxima chamada de proximaLinha. Cada byte corresponde
+     * a um char, o que é exato para campos ASCII (datas, tipos, códigos); para
+     * textos com acentos, use texto(int).
+     */
+    public CharSequence campo(int indice) {
+        validarCampo(indice);
+        if (campos[indice] == null) {
+            campos[indice] = new Campo(indice);
+        }
+        return campos[indice];
+    }
+
+    /** Converte o campo em String, decodificando-o como UTF-8 */
+    public String texto(int indice) {
+        int tamanho = tamanhoCampo(indice);
+        if (tamanho > bytesCampo.length) {
+            bytesCampo = new byte[Math.max(tamanho, bytesCampo.length * 2)];
+        }
+        janela.get(inicios[indice], bytesCampo, 0, tamanho);
+        return new String(bytesCampo, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    /** Indica se o campo tem exatamente o conteúdo informado, sem criar Strings */
+    public boolean igual(int indice, CharSequence conteudo) {
+        int tamanho = tamanhoCampo(indice);
+        if (tamanho != conteudo.length()) {
+            return false;
+        }
+        int inicio = inicios[indice];
+        for (int i = 0; i < tamanho; i++) {
+            if ((janela.get(inicio + i) & 0xFF) != conteudo.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Divide o arquivo em até a quantidade informada de trechos de tamanhos
+     * parecidos, cada um começando no início de uma linha.
+     *
+     * @return As posições dos limites dos trechos, começando em 0 e terminando
+     *         no tamanho do arquivo; o trecho i vai de limites[i] (inclusive) a
+     *         limites[i + 1] (exclusive).
+     */
+    public static long[] dividirEmLinhas(String caminho, int quantidadeTrechos) throws IOException {
+        if (quantidadeTrechos < 1) {
+            throw new IllegalArgumentException("Quantidade de trechos inválida: " + quantidadeTrechos);
+        }
+        try (FileChannel canal = FileChannel.open(Path.of(caminho), StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            long[] limites = new long[quantidadeTrechos + 1];
+            int quantidade = 1;
+            ByteBuffer bloco = ByteBuffer.allocate(4096);
+            for (int i = 1; i < quantidadeTrechos; i++) {
+                long limite = inicioDaLinhaSeguinte(canal, Math.max(tamanho * i / quantidadeTrechos,
+                        limites[quantidade - 1] + 1), bloco);
+                if (limite >= tamanho) {
+                    break;
+                }
+                limites[quantidade++] = limite;
+            }
+            limites[quantidade++] = tamanho;
+            return Arrays.copyOf(limites, quantidade);
+        }
+    }
+
+    /**
+     * Retorna a primeira posição, maior ou igual à informada, que é o começo de
+     * uma linha (ou o tamanho do arquivo, se não houver mais linhas).
+     */
+    private static long inicioDaLinhaSeguinte(FileChannel canal, long posicao, ByteBuffer bloco) throws IOException {
+        // a posição já é o começo de uma linha se o byte anterior for a quebra
+        long atual = posicao - 1;
+        while (true) {
+            bloco.clear();
+            int lidos = canal.read(bloco, atual);
+            if (lidos <= 0) {
+                return canal.size();
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (bloco.get(i) == '\n') {
+                    return atual + i + 1;
+                }
+            }
+            atual += lidos;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /** Visão de um campo da linha atual, lida diretamente da janela mapeada */
+    private class Campo implements CharSequence {
+        private final int indice;
+
+        Campo(int indice) {
+            this.indice = indice;
+        }
+
+        @Override
+        public int length() {
+            return fins[indice] - inicios[indice];
+        }
+
+        @Override
+        public char charAt(int i) {
+            if (i < 0 || i >= length()) {
+                throw new IndexOutOfBoundsException(i);
+            }
+            return (char) (janela.get(inicios[indice] + i) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int inicio, int fim) {
+            return toString().subSequence(inicio, fim);
+        }
+
+        @Override
+        public String toString() {
+            return texto(indice);
+        }
+    }
+}
@@ -13,6 +13,8 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 interface IOrdenator<T> {
 
@@ -98,13 +100,32 @@ class Quicksort<T> implements IOrdenator<T> {
   }
 }
 
+/**
+ * Mergesort natural, de baixo para cima: o vetor é dividido nas sequências já
+ * ordenadas que ele contém (as decrescentes são invertidas, e as muito curtas
+ * são estendidas por inserção), e essas sequências são intercaladas duas a
+ * duas até sobrar uma só. Um único vetor auxiliar é alocado por ordenação.
+ * Antes de intercalar duas sequências, os elementos que já estão na posição
+ * final são descartados, e a intercalação inteira é pulada se as duas já
+ * estiverem em ordem; quando um dos lados vence várias comparações seguidas,
+ * o trecho dele é localizado por busca exponencial e copiado de uma vez.
+ * Em vetores quase ordenados, o custo fica próximo de linear. A ordenação é
+ * estável.
+ */
 class Mergesort<T> implements IOrdenator<T> {
 
+  /** Sequências mais curtas que isto são estendidas por inserção */
+  private static final int SEQUENCIA_MINIMA = 32;
+  /** Vitórias seguidas de um lado a partir das quais a intercalação passa a galopar */
+  private static final int LIMITE_GALOPE = 7;
+
   private T[] array;
+  private T[] auxiliar;
   private Comparator<T> comparador;
   private int comparacoes;
   private int movimentacoes;
   private long tempoInicial;
+  private long tempoFinal;
 
   public Mergesort(T[] array) {
     this.array = array;
@@ -113,60 +134,362 @@ class Mergesort<T> implements IOrdenator<T> {
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public T[] ordenar() {
     tempoInicial = System.nanoTime();
-    mergesort(0, array.length - 1);
+    int n = array.length;
+    if (n > 1) {
+      auxiliar = (T[]) new Object[n];
+      // inicios[0..quantidade-1] são os inícios das sequências, e inicios[quantidade] == n;
+      // só a última sequência pode ter menos de SEQUENCIA_MINIMA elementos
+      int[] inicios = new int[n / SEQUENCIA_MINIMA + 2];
+      int quantidade = 0;
+      for (int inicio = 0; inicio < n; ) {
+        inicios[quantidade++] = inicio;
+        inicio = proximaSequencia(inicio);
+      }
+      inicios[quantidade] = n;
+
+      while (quantidade > 1) {
+        int novaQuantidade = 0;
+        for (int s = 0; s < quantidade; s += 2) {
+          if (s + 1 < quantidade) {
+            intercalar(inicios[s], inicios[s + 1], inicios[s + 2]);
+          }
+          inicios[novaQuantidade++] = inicios[s];
+        }
+        inicios[novaQuantidade] = n;
+        quantidade = novaQuantidade;
+      }
+      auxiliar = null;
+    }
+    tempoFinal = System.nanoTime();
     return array;
   }
 
-  private void mergesort(int inicio, int fim) {
-    if (inicio < fim) {
-      int meio = (inicio + fim) / 2;
-      mergesort(inicio, meio);
-      mergesort(meio + 1, fim);
-      merge(inicio, meio, fim);
+  /**
+   * Ordena a sequência que começa em inicio e retorna a posição seguinte ao
+   * seu fim. Uma sequência estritamente decrescente é invertida (estrita, para
+   * não inverter a ordem de elementos iguais); uma sequência curta é estendida
+   * até SEQUENCIA_MINIMA elementos por inserção.
+   */
+  private int proximaSequencia(int inicio) {
+    int n = array.length;
+    int fim = inicio + 1;
+    if (fim < n) {
+      if (comparar(array[fim], array[inicio]) < 0) {
+        fim++;
+        while (fim < n && comparar(array[fim], array[fim - 1]) < 0) {
+          fim++;
+        }
+        inverter(inicio, fim);
+      } else {
+        fim++;
+        while (fim < n && comparar(array[fim], array[fim - 1]) >= 0) {
+          fim++;
+        }
+      }
+    }
+    int minimo = Math.min(n, inicio + SEQUENCIA_MINIMA);
+    if (fim < minimo) {
+      insercao(inicio, fim, minimo);
+      fim = minimo;
     }
+    return fim;
   }
 
-  @SuppressWarnings("unchecked")
-  private void merge(int inicio, int meio, int fim) {
-    int tamanho = fim - inicio + 1;
-    T[] temp = (T[]) new Object[tamanho];
+  private void inverter(int inicio, int fim) {
+    for (int i = inicio, j = fim - 1; i < j; i++, j--) {
+      T temp = array[i];
+      array[i] = array[j];
+      array[j] = temp;
+      movimentacoes += 2;
+    }
+  }
 
-    int i = inicio;
-    int j = meio + 1;
-    int k = 0;
+  /**
+   * Inclui array[ordenados..fim-1], um a um, em array[inicio..ordenados-1], já
+   * ordenado. A posição de cada elemento é achada por busca binária, depois
+   * dos iguais a ele.
+   */
+  private void insercao(int inicio, int ordenados, int fim) {
+    for (int i = ordenados; i < fim; i++) {
+      T atual = array[i];
+      int esquerda = inicio;
+      int direita = i;
+      while (esquerda < direita) {
+        int meio = (esquerda + direita) >>> 1;
+        if (comparar(atual, array[meio]) < 0) {
+          direita = meio;
+        } else {
+          esquerda = meio + 1;
+        }
+      }
+      System.arraycopy(array, esquerda, array, esquerda + 1, i - esquerda);
+      array[esquerda] = atual;
+      movimentacoes += i - esquerda + 1;
+    }
+  }
 
-    while (i <= meio && j <= fim) {
-      comparacoes++;
-      int cmp;
-      if (comparador != null) {
-        cmp = comparador.compare(array[i], array[j]);
+  /** Intercala as sequências ordenadas array[inicio..meio-1] e array[meio..fim-1] */
+  private void intercalar(int inicio, int meio, int fim) {
+    if (comparar(array[meio - 1], array[meio]) <= 0) {
+      return; // as duas sequências já estão em ordem
+    }
+    // os elementos da esquerda que não passam de array[meio] já estão no lugar,
+    // assim como os da direita que não são menores que array[meio - 1]
+    inicio = limite(array[meio], array, inicio, meio, true);
+    fim = limite(array[meio - 1], array, meio, fim, false);
+
+    int tamanhoEsquerda = meio - inicio;
+    System.arraycopy(array, inicio, auxiliar, 0, tamanhoEsquerda);
+    movimentacoes += tamanhoEsquerda;
+
+    int i = 0;
+    int j = meio;
+    int k = inicio;
+    int vitoriasEsquerda = 0;
+    int vitoriasDireita = 0;
+    while (i < tamanhoEsquerda && j < fim) {
+      if (comparar(array[j], auxiliar[i]) < 0) {
+        array[k++] = array[j++];
+        movimentacoes++;
+        vitoriasDireita++;
+        vitoriasEsquerda = 0;
+        if (vitoriasDireita >= LIMITE_GALOPE && j < fim) {
+          int ate = limite(auxiliar[i], array, j, fim, false);
+          System.arraycopy(array, j, array, k, ate - j);
+          movimentacoes += ate - j;
+          k += ate - j;
+          j = ate;
+          vitoriasDireita = 0;
+        }
       } else {
-        cmp = ((Comparable<T>) array[i]).compareTo(array[j]);
+        array[k++] = auxiliar[i++];
+        movimentacoes++;
+        vitoriasEsquerda++;
+        vitoriasDireita = 0;
+        if (vitoriasEsquerda >= LIMITE_GALOPE && i < tamanhoEsquerda) {
+          int ate = limite(array[j], auxiliar, i, tamanhoEsquerda, true);
+          System.arraycopy(auxiliar, i, array, k, ate - i);
+          movimentacoes += ate - i;
+          k += ate - i;
+          i = ate;
+          vitoriasEsquerda = 0;
+        }
       }
+    }
+    // o que sobrar da direita já está no lugar
+    System.arraycopy(auxiliar, i, array, k, tamanhoEsquerda - i);
+    movimentacoes += tamanhoEsquerda - i;
+  }
 
-      if (cmp <= 0) {
-        temp[k++] = array[i++];
+  /**
+   * Primeira posição de vetor[inicio..fim-1] cujo elemento é maior que a chave
+   * (ou maior ou igual, se incluirIguais for falso), ou fim se não houver.
+   * A busca avança em saltos de 1, 2, 4, ... a partir de inicio e termina com
+   * uma busca binária, de modo que custa O(log d), sendo d a distância até a
+   * posição encontrada.
+   */
+  private int limite(T chave, T[] vetor, int inicio, int fim, boolean incluirIguais) {
+    int anterior = inicio;
+    int salto = 1;
+    int posicao = inicio;
+    while (posicao < fim && antes(vetor[posicao], chave, incluirIguais)) {
+      anterior = posicao + 1;
+      posicao = inicio + salto;
+      salto *= 2;
+    }
+    int esquerda = anterior;
+    int direita = Math.min(posicao, fim);
+    while (esquerda < direita) {
+      int meio = (esquerda + direita) >>> 1;
+      if (antes(vetor[meio], chave, incluirIguais)) {
+        esquerda = meio + 1;
       } else {
-        temp[k++] = array[j++];
+        direita = meio;
+      }
+    }
+    return esquerda;
+  }
+
+  /** Indica se elemento fica antes da posição procurada por limite() */
+  private boolean antes(T elemento, T chave, boolean incluirIguais) {
+    int cmp = comparar(elemento, chave);
+    return incluirIguais ? cmp <= 0 : cmp < 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  private int comparar(T a, T b) {
+    comparacoes++;
+    if (comparador != null) {
+      return comparador.compare(a, b);
+    }
+    return ((Comparable<T>) a).compareTo(b);
+  }
+
+  @Override
+  public void setComparador(Comparator<T> comparador) {
+    this.comparador = comparador;
+  }
+
+  @Override
+  public int getComparacoes() {
+    return comparacoes;
+  }
+
+  @Override
+  public int getMovimentacoes() {
+    return movimentacoes;
+  }
+
+  /** Duração da última ordenação, em milissegundos */
+  @Override
+  public double getTempoOrdenacao() {
+    return (tempoFinal - tempoInicial) / 1_000_000.0;
+  }
+}
+
+/**
+ * Mergesort paralelo: as duas metades de cada parte maior que LIMITE_PARALELO
+ * são ordenadas em tarefas de um ForkJoinPool e depois intercaladas; abaixo do
+ * limite, a parte é ordenada na própria thread. Um único vetor auxiliar é
+ * alocado por ordenação, e cada tarefa usa só o trecho dele que corresponde à
+ * sua parte, então as tarefas não interferem umas nas outras.
+ * A intercalação só põe um elemento da direita antes de um da esquerda quando
+ * ele é estritamente menor, e por isso a ordenação é estável, como a do
+ * Mergesort (e ao contrário da do ParallelQuicksort).
+ * Cada tarefa conta as suas comparações e movimentações, e a tarefa que a
+ * criou soma essas contagens às suas depois do join.
+ */
+class ParallelMergesort<T> implements IOrdenator<T> {
+
+  /** Abaixo deste tamanho, a parte é ordenada na própria thread */
+  private static final int LIMITE_PARALELO = 1 << 13;
+  /** Partes com até esta quantidade de elementos são ordenadas por inserção */
+  private static final int LIMITE_INSERCAO = 16;
+
+  private T[] array;
+  private T[] auxiliar;
+  private Comparator<T> comparador;
+  private final ForkJoinPool pool;
+  private long comparacoes;
+  private long movimentacoes;
+  private long tempoInicial;
+  private long tempoFinal;
+
+  public ParallelMergesort(T[] array) {
+    this(array, ForkJoinPool.commonPool());
+  }
+
+  public ParallelMergesort(T[] array, ForkJoinPool pool) {
+    this.array = array;
+    this.pool = pool;
+    this.comparacoes = 0;
+    this.movimentacoes = 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] ordenar() {
+    tempoInicial = System.nanoTime();
+    auxiliar = (T[]) new Object[array.length];
+    TarefaMergesort tarefa = new TarefaMergesort(0, array.length);
+    pool.invoke(tarefa);
+    comparacoes = tarefa.comparacoes;
+    movimentacoes = tarefa.movimentacoes;
+    auxiliar = null;
+    tempoFinal = System.nanoTime();
+    return array;
+  }
+
+  /** Ordena array[inicio..fim-1], dividindo o trabalho entre as threads do pool */
+  private class TarefaMergesort extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int inicio;
+    private final int fim;
+    private long comparacoes;
+    private long movimentacoes;
+
+    TarefaMergesort(int inicio, int fim) {
+      this.inicio = inicio;
+      this.fim = fim;
+    }
+
+    @Override
+    protected void compute() {
+      if (fim - inicio < LIMITE_PARALELO) {
+        mergesort(inicio, fim);
+        return;
+      }
+      int meio = (inicio + fim) >>> 1;
+      TarefaMergesort esquerda = new TarefaMergesort(inicio, meio);
+      TarefaMergesort direita = new TarefaMergesort(meio, fim);
+      invokeAll(esquerda, direita);
+      comparacoes += esquerda.comparacoes + direita.comparacoes;
+      movimentacoes += esquerda.movimentacoes + direita.movimentacoes;
+      intercalar(inicio, meio, fim);
+    }
+
+    private void mergesort(int inicio, int fim) {
+      if (fim - inicio <= LIMITE_INSERCAO) {
+        insercao(inicio, fim);
+        return;
       }
-      movimentacoes++;
+      int meio = (inicio + fim) >>> 1;
+      mergesort(inicio, meio);
+      mergesort(meio, fim);
+      intercalar(inicio, meio, fim);
     }
 
-    while (i <= meio) {
-      temp[k++] = array[i++];
-      movimentacoes++;
+    private void insercao(int inicio, int fim) {
+      for (int i = inicio + 1; i < fim; i++) {
+        T atual = array[i];
+        int j = i - 1;
+        while (j >= inicio && comparar(atual, array[j]) < 0) {
+          array[j + 1] = array[j];
+          movimentacoes++;
+          j--;
+        }
+        array[j + 1] = atual;
+      }
     }
 
-    while (j <= fim) {
-      temp[k++] = array[j++];
-      movimentacoes++;
+    /**
+     * Intercala array[inicio..meio-1] e array[meio..fim-1], usando
+     * auxiliar[inicio..meio-1] para a metade esquerda. Se as metades já
+     * estiverem em ordem, não há o que intercalar.
+     */
+    private void intercalar(int inicio, int meio, int fim) {
+      if (comparar(array[meio - 1], array[meio]) <= 0) {
+        return;
+      }
+      System.arraycopy(array, inicio, auxiliar, inicio, meio - inicio);
+      movimentacoes += meio - inicio;
+      int i = inicio;
+      int j = meio;
+      int k = inicio;
+      while (i < meio && j < fim) {
+        if (comparar(array[j], auxiliar[i]) < 0) {
+          array[k++] = array[j++];
+        } else {
+          array[k++] = auxiliar[i++];
+        }
+        movimentacoes++;
+      }
+      // o que sobrar da direita já está no lugar
+      System.arraycopy(auxiliar, i, array, k, meio - i);
+      movimentacoes += meio - i;
     }
 
-    for (i = inicio, k = 0; i <= fim; i++, k++) {
-      array[i] = temp[k];
-      movimentacoes++;
+    @SuppressWarnings("unchecked")
+    private int comparar(T a, T b) {
+      comparacoes++;
+      if (comparador != null) {
+        return comparador.compare(a, b);
+      }
+      return ((Comparable<T>) a).compareTo(b);
     }
   }
 
@@ -177,17 +500,18 @@ class Mergesort<T> implements IOrdenator<T> {
 
   @Override
   public int getComparacoes() {
-    return comparacoes;
+    return (int) comparacoes;
   }
 
   @Override
   public int getMovimentacoes() {
-    return movimentacoes;
+    return (int) movimentacoes;
   }
 
+  /** Duração da última ordenação, em milissegundos */
   @Override
   public double getTempoOrdenacao() {
-    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+    return (tempoFinal - tempoInicial) / 1_000_000.0;
   }
 }
 